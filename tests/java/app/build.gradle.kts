@@ -1,6 +1,7 @@
 
 plugins {
     application
+    alias(libs.plugins.jmh)
 }
 
 repositories {
@@ -34,17 +35,34 @@ java {
     targetCompatibility = JavaVersion.VERSION_17
 }
 
+// The following JVM arguments are necessary for running Hazelcast with JDK 9+ with enhanced performance
+val hazelcastJvmArgs = listOf(
+    "--add-modules=java.se",
+    "--add-exports=java.base/jdk.internal.ref=ALL-UNNAMED",
+    "--add-opens=java.base/java.lang=ALL-UNNAMED",
+    "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
+    "--add-opens=java.management/sun.management=ALL-UNNAMED",
+    "--add-opens=jdk.management/com.sun.management.internal=ALL-UNNAMED"
+)
+
 application {
     mainClass = "com.sanvito_damiano.hazelcast.Main"
-    // The following JVM arguments are necessary for running Hazelcast with JDK 9+ with enhanced performance
-    applicationDefaultJvmArgs = listOf(
-        "--add-modules=java.se",
-        "--add-exports=java.base/jdk.internal.ref=ALL-UNNAMED",
-        "--add-opens=java.base/java.lang=ALL-UNNAMED",
-        "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED",
-        "--add-opens=java.management/sun.management=ALL-UNNAMED",
-        "--add-opens=jdk.management/com.sun.management.internal=ALL-UNNAMED"
-    )
+    applicationDefaultJvmArgs = hazelcastJvmArgs
+}
+
+// Forward -Dbenchmark.* properties given to Gradle to the application, e.g. ./gradlew app:run --args="--benchmarks" -Dbenchmark.contention.threads=1,8
+tasks.named<JavaExec>("run") {
+    systemProperties(System.getProperties()
+        .filterKeys { it.toString().startsWith("benchmark.") }
+        .mapKeys { it.key.toString() })
+}
+
+// JMH benchmarks live in src/jmh/java, run them with ./gradlew app:jmh
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    jvmArgsAppend = hazelcastJvmArgs + listOf("-DLOG_DIR=jmh")
+    resultFormat = "CSV"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.csv")
 }
 
 tasks.named<Test>("test") {
@@ -0,0 +1,51 @@
+package com.sanvito_damiano.hazelcast.jmh;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+/**
+ * Two-member embedded cluster plus client, configured the same way as Main
+ */
+public class EmbeddedCluster {
+    private final HazelcastInstance memberInstance1;
+    @SuppressWarnings("unused")
+    private final HazelcastInstance memberInstance2;
+    private final HazelcastInstance clientInstance;
+
+    public EmbeddedCluster() {
+        // Configure first member
+        Config config1 = new Config();
+        config1.getJetConfig().setEnabled(true);
+        config1.setInstanceName("member1");
+        config1.setProperty("hazelcast.logging.type", "log4j2");
+
+        // Configure second member
+        Config config2 = new Config();
+        config2.getJetConfig().setEnabled(true);
+        config2.setInstanceName("member2");
+        config2.setProperty("hazelcast.logging.type", "log4j2");
+
+        // Configure client
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setInstanceName("client");
+        clientConfig.setProperty("hazelcast.logging.type", "log4j2");
+
+        memberInstance1 = Hazelcast.newHazelcastInstance(config1);
+        memberInstance2 = Hazelcast.newHazelcastInstance(config2);
+        clientInstance = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    public HazelcastInstance getClient() {
+        return clientInstance;
+    }
+
+    public void shutdown() {
+        clientInstance.shutdown();
+        memberInstance1.getCluster().shutdown();
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+}
@@ -0,0 +1,87 @@
+package com.sanvito_damiano.hazelcast.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.map.IMap;
+
+/**
+ * Bulk IMap operations exercised by MapTest.testBulkOperations (putAll, getAll)
+ * across value sizes and batch sizes. One benchmark invocation is one batch.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public abstract class MapBulkOperationsBenchmark {
+
+    @Param({"100", "1024", "10240"})
+    public int valueSize;
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private EmbeddedCluster cluster;
+    private IMap<Integer, byte[]> map;
+    private Map<Integer, byte[]> batch;
+    private Set<Integer> batchKeys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cluster = new EmbeddedCluster();
+        map = cluster.getClient().getMap("jmh-bulk-map");
+
+        byte[] value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+
+        batch = new HashMap<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.put(i, value);
+        }
+        batchKeys = batch.keySet();
+        map.putAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.destroy();
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public void putAll() {
+        map.putAll(batch);
+    }
+
+    @Benchmark
+    public Map<Integer, byte[]> getAll() {
+        return map.getAll(batchKeys);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public static class Throughput extends MapBulkOperationsBenchmark {
+    }
+
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public static class Latency extends MapBulkOperationsBenchmark {
+    }
+}
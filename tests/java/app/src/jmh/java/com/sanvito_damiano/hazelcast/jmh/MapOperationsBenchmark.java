@@ -0,0 +1,95 @@
+package com.sanvito_damiano.hazelcast.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hazelcast.map.IMap;
+
+/**
+ * Single-entry IMap operations exercised by MapTest (put, get, set, conditional replace).
+ * The abstract class holds the benchmarks, the nested subclasses pick the mode so that
+ * throughput is reported in ops/s and sampled percentiles in microseconds.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public abstract class MapOperationsBenchmark {
+
+    private static final int KEY_SPACE = 10_000;
+
+    @Param({"100", "1024", "10240"})
+    public int valueSize;
+
+    private EmbeddedCluster cluster;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cluster = new EmbeddedCluster();
+        map = cluster.getClient().getMap("jmh-map");
+        value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+
+        // Preload the whole key space so get/replace always hit an existing entry
+        for (int i = 0; i < KEY_SPACE; i++) {
+            map.set(i, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.destroy();
+        cluster.shutdown();
+    }
+
+    private static int nextKey() {
+        return ThreadLocalRandom.current().nextInt(KEY_SPACE);
+    }
+
+    @Benchmark
+    public byte[] put() {
+        return map.put(nextKey(), value);
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public void set() {
+        map.set(nextKey(), value);
+    }
+
+    @Benchmark
+    public boolean replace() {
+        // Replacing with an equal value always succeeds, so every call pays for the compare and the write
+        return map.replace(nextKey(), value, value);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public static class Throughput extends MapOperationsBenchmark {
+    }
+
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public static class Latency extends MapOperationsBenchmark {
+    }
+}
@@ -0,0 +1,128 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+
+/**
+ * Loads entries into an IMap with asynchronous putAll calls instead of one blocking put per entry.
+ * Entries are buffered per owner member, so every batch is handled by a single member, and at most
+ * maxInFlight batches are outstanding at a time so that the client and the members are not flooded.
+ *
+ * <pre>
+ * try (BulkLoader&lt;String, String&gt; loader = new BulkLoader&lt;&gt;(hazelcastInstance, map)) {
+ *     for (int i = 0; i &lt; count; i++) {
+ *         loader.add("key-" + i, "value-" + i);
+ *     }
+ * }
+ * </pre>
+ */
+public class BulkLoader<K, V> implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private final IMap<K, V> map;
+    private final PartitionService partitionService;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Map<UUID, Map<K, V>> buffers = new HashMap<>();
+    private final LongAdder loaded = new LongAdder();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public BulkLoader(HazelcastInstance hazelcastInstance, IMap<K, V> map) {
+        this(hazelcastInstance, map, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BulkLoader(HazelcastInstance hazelcastInstance, IMap<K, V> map, int batchSize, int maxInFlight) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and in-flight window must be positive: " + batchSize + ", " + maxInFlight);
+        }
+        this.map = map;
+        this.partitionService = hazelcastInstance.getPartitionService();
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Buffers an entry, sending the owner's batch once it is full.
+     * Blocks while the in-flight window is exhausted.
+     */
+    public void add(K key, V value) {
+        checkFailure();
+        UUID owner = PartitionGrouping.ownerOf(partitionService, key);
+        Map<K, V> buffer = buffers.computeIfAbsent(owner, k -> new HashMap<>());
+        buffer.put(key, value);
+        if (buffer.size() >= batchSize) {
+            buffers.remove(owner);
+            send(buffer);
+        }
+    }
+
+    /**
+     * Sends every partially filled batch and waits until all outstanding batches completed
+     */
+    public void flush() {
+        for (Map<K, V> buffer : buffers.values()) {
+            send(buffer);
+        }
+        buffers.clear();
+
+        inFlight.acquireUninterruptibly(maxInFlight);
+        inFlight.release(maxInFlight);
+        checkFailure();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Number of entries acknowledged by the cluster so far
+     */
+    public long getLoadedCount() {
+        return loaded.sum();
+    }
+
+    private void send(Map<K, V> batch) {
+        inFlight.acquireUninterruptibly();
+        int size = batch.size();
+        try {
+            if (size == 1) {
+                Map.Entry<K, V> entry = batch.entrySet().iterator().next();
+                map.setAsync(entry.getKey(), entry.getValue()).whenComplete((v, error) -> complete(size, error));
+            } else {
+                map.putAllAsync(batch).whenComplete((v, error) -> complete(size, error));
+            }
+        } catch (RuntimeException e) {
+            // The call failed before any callback was registered, give the permit back
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void complete(int size, Throwable error) {
+        if (error == null) {
+            loaded.add(size);
+        } else {
+            failure.compareAndSet(null, error);
+        }
+        inFlight.release();
+    }
+
+    private void checkFailure() {
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Bulk load into " + map.getName() + " failed", error);
+        }
+    }
+}
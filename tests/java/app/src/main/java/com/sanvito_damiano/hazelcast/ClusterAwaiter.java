@@ -0,0 +1,202 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.cluster.MembershipListener;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import com.hazelcast.partition.MigrationListener;
+import com.hazelcast.partition.MigrationState;
+import com.hazelcast.partition.ReplicaMigrationEvent;
+
+/**
+ * Waits for cluster state changes (members joining or leaving, migrations ending, instances shutting down)
+ * by listening to the corresponding events, so that callers continue as soon as the condition holds instead
+ * of sleeping for a fixed time. Every wait throws IllegalStateException when the timeout elapses.
+ */
+public final class ClusterAwaiter {
+    public static final long DEFAULT_TIMEOUT_SECONDS = 60;
+
+    // Conditions without an event of their own (backups in sync, split brain protection status, an instance
+    // that stopped before the listener was registered) are re-checked at this interval
+    private static final long RECHECK_MILLIS = 100;
+
+    private ClusterAwaiter() {
+    }
+
+    /**
+     * Waits until the cluster seen by the instance (member or client) has the given number of members
+     */
+    public static void awaitClusterSize(HazelcastInstance instance, int memberCount) throws InterruptedException {
+        awaitMembership(instance, () -> instance.getCluster().getMembers().size() == memberCount,
+                        "cluster size " + memberCount);
+    }
+
+    /**
+     * Waits until the member with the given UUID is (or is no longer) part of the cluster seen by the instance
+     */
+    public static void awaitMember(HazelcastInstance instance, UUID memberUuid, boolean present) throws InterruptedException {
+        awaitMembership(instance, () -> containsMember(instance, memberUuid) == present,
+                        "member " + memberUuid + (present ? " to join" : " to leave"));
+    }
+
+    /**
+     * Waits until no migration is running and every backup is in sync. The instance may be a client, the
+     * check then runs on a member of the same cluster started in this JVM
+     */
+    public static void awaitClusterSafe(HazelcastInstance instance) throws InterruptedException {
+        HazelcastInstance member = localMember(instance);
+        Object monitor = new Object();
+        UUID registration = member.getPartitionService().addMigrationListener(new MigrationListener() {
+            @Override
+            public void migrationStarted(MigrationState state) {
+            }
+
+            @Override
+            public void migrationFinished(MigrationState state) {
+                synchronized (monitor) {
+                    monitor.notifyAll();
+                }
+            }
+
+            @Override
+            public void replicaMigrationCompleted(ReplicaMigrationEvent event) {
+            }
+
+            @Override
+            public void replicaMigrationFailed(ReplicaMigrationEvent event) {
+            }
+        });
+        try {
+            await(monitor, () -> member.getPartitionService().isClusterSafe(), RECHECK_MILLIS, "cluster to be safe");
+        } finally {
+            if (member.getLifecycleService().isRunning()) {
+                member.getPartitionService().removeMigrationListener(registration);
+            }
+        }
+    }
+
+    /**
+     * Waits until the split brain protection of the member reports whether the cluster has its minimum size.
+     * The status is updated from membership events on another thread, so it lags behind the member list
+     */
+    public static void awaitSplitBrainProtection(HazelcastInstance member, String name, boolean hasMinimumSize)
+            throws InterruptedException {
+        await(new Object(),
+              () -> member.getSplitBrainProtectionService().getSplitBrainProtection(name).hasMinimumSize() == hasMinimumSize,
+              RECHECK_MILLIS, "split brain protection " + name + (hasMinimumSize ? " to be met" : " to be lost"));
+    }
+
+    /**
+     * Waits until the member has shut down, e.g. after a cluster-wide shutdown initiated elsewhere. A member
+     * that is no longer running may still be shutting down, so this waits for the SHUTDOWN event or for the
+     * member to leave the registry of this JVM, which happens once it has fully stopped
+     */
+    public static void awaitShutdown(HazelcastInstance instance) throws InterruptedException {
+        CountDownLatch shutdown = new CountDownLatch(1);
+        UUID registration;
+        try {
+            registration = instance.getLifecycleService().addLifecycleListener(event -> {
+                if (event.getState() == LifecycleState.SHUTDOWN) {
+                    synchronized (shutdown) {
+                        shutdown.countDown();
+                        shutdown.notifyAll();
+                    }
+                }
+            });
+        } catch (HazelcastInstanceNotActiveException e) {
+            return; // Already fully shut down, its lifecycle service no longer takes listeners
+        }
+        try {
+            // SHUTDOWN may have been fired before the listener was registered
+            await(shutdown, () -> shutdown.getCount() == 0 || Hazelcast.getHazelcastInstanceByName(instance.getName()) == null,
+                  RECHECK_MILLIS, instance.getName() + " to shut down");
+        } finally {
+            try {
+                instance.getLifecycleService().removeLifecycleListener(registration);
+            } catch (HazelcastInstanceNotActiveException e) {
+                // The listeners went away with the instance
+            }
+        }
+    }
+
+    /**
+     * Waits until every member started in this JVM has shut down
+     */
+    public static void awaitAllShutdown() throws InterruptedException {
+        for (HazelcastInstance instance : Hazelcast.getAllHazelcastInstances()) {
+            awaitShutdown(instance);
+        }
+    }
+
+    private static void awaitMembership(HazelcastInstance instance, BooleanSupplier condition, String description)
+            throws InterruptedException {
+        Object monitor = new Object();
+        UUID registration = instance.getCluster().addMembershipListener(new MembershipListener() {
+            @Override
+            public void memberAdded(MembershipEvent event) {
+                synchronized (monitor) {
+                    monitor.notifyAll();
+                }
+            }
+
+            @Override
+            public void memberRemoved(MembershipEvent event) {
+                synchronized (monitor) {
+                    monitor.notifyAll();
+                }
+            }
+        });
+        try {
+            await(monitor, condition, TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_SECONDS), description);
+        } finally {
+            instance.getCluster().removeMembershipListener(registration);
+        }
+    }
+
+    /**
+     * Re-checks the condition every time the monitor is notified, or at least every recheckMillis
+     */
+    private static void await(Object monitor, BooleanSupplier condition, long recheckMillis, String description)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+        synchronized (monitor) {
+            while (!condition.getAsBoolean()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new IllegalStateException("Timed out after " + DEFAULT_TIMEOUT_SECONDS + "s waiting for " + description);
+                }
+                monitor.wait(Math.min(remainingMillis, recheckMillis));
+            }
+        }
+    }
+
+    private static boolean containsMember(HazelcastInstance instance, UUID memberUuid) {
+        for (Member member : instance.getCluster().getMembers()) {
+            if (member.getUuid().equals(memberUuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a running member of the instance's cluster started in this JVM, the instance itself when it is one
+     */
+    private static HazelcastInstance localMember(HazelcastInstance instance) {
+        for (HazelcastInstance candidate : Hazelcast.getAllHazelcastInstances()) {
+            if (candidate.getLifecycleService().isRunning()
+                    && containsMember(instance, candidate.getCluster().getLocalMember().getUuid())) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No member of the cluster of " + instance.getName() + " runs in this JVM");
+    }
+}
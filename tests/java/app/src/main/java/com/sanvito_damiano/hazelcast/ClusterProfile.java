@@ -0,0 +1,108 @@
+package com.sanvito_damiano.hazelcast;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NetworkConfig;
+
+/**
+ * Describes the cluster a test suite runs against: either the shared default cluster
+ * or an isolated one with its own cluster name and port range, so that several
+ * suites can run side by side in the same JVM.
+ */
+public class ClusterProfile {
+    public static final ClusterProfile DEFAULT = new ClusterProfile(null, 0);
+
+    /**
+     * Number of ports reserved for the members of an isolated cluster
+     */
+    public static final int PORT_COUNT = 10;
+
+    /**
+     * Maps whose name starts with this prefix keep an event journal, so that pipelines can read their changes
+     */
+    public static final String JOURNAL_MAP_PREFIX = "journal-";
+
+    /**
+     * Events kept by the journal of each journal map, shared by all its partitions
+     */
+    public static final int JOURNAL_CAPACITY = 1_000_000;
+
+    private final String clusterName;
+    private final int basePort;
+
+    private ClusterProfile(String clusterName, int basePort) {
+        this.clusterName = clusterName;
+        this.basePort = basePort;
+    }
+
+    /**
+     * Creates a profile for a cluster that only discovers members on the given port range
+     */
+    public static ClusterProfile isolated(String clusterName, int basePort) {
+        return new ClusterProfile(clusterName, basePort);
+    }
+
+    public boolean isIsolated() {
+        return clusterName != null;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    /**
+     * Creates the configuration of a member, instance names are prefixed with the cluster name when isolated
+     */
+    public Config createMemberConfig(String instanceName) {
+        Config config = new Config();
+        config.getJetConfig().setEnabled(true);
+        config.setProperty("hazelcast.logging.type", "log4j2");
+
+        MapConfig journalMapConfig = new MapConfig(JOURNAL_MAP_PREFIX + "*");
+        journalMapConfig.getEventJournalConfig().setEnabled(true).setCapacity(JOURNAL_CAPACITY);
+        config.addMapConfig(journalMapConfig);
+
+        if (!isIsolated()) {
+            config.setInstanceName(instanceName);
+            return config;
+        }
+
+        config.setInstanceName(clusterName + "-" + instanceName);
+        config.setClusterName(clusterName);
+
+        NetworkConfig networkConfig = config.getNetworkConfig();
+        networkConfig.setPort(basePort).setPortAutoIncrement(true).setPortCount(PORT_COUNT);
+        networkConfig.getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+
+        JoinConfig joinConfig = networkConfig.getJoin();
+        joinConfig.getMulticastConfig().setEnabled(false);
+        joinConfig.getAutoDetectionConfig().setEnabled(false);
+        joinConfig.getTcpIpConfig().setEnabled(true);
+        for (int port = basePort; port < basePort + PORT_COUNT; port++) {
+            joinConfig.getTcpIpConfig().addMember("127.0.0.1:" + port);
+        }
+        return config;
+    }
+
+    /**
+     * Creates the configuration of a client connecting to this cluster
+     */
+    public ClientConfig createClientConfig(String instanceName) {
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty("hazelcast.logging.type", "log4j2");
+
+        if (!isIsolated()) {
+            clientConfig.setInstanceName(instanceName);
+            return clientConfig;
+        }
+
+        clientConfig.setInstanceName(clusterName + "-" + instanceName);
+        clientConfig.setClusterName(clusterName);
+        for (int port = basePort; port < basePort + PORT_COUNT; port++) {
+            clientConfig.getNetworkConfig().addAddress("127.0.0.1:" + port);
+        }
+        return clientConfig;
+    }
+}
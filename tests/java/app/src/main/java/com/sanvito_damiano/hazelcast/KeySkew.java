@@ -0,0 +1,126 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import com.hazelcast.partition.Partition;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.partition.PartitioningStrategy;
+
+/**
+ * Measures how evenly a set of keys spreads over the partitions and the members owning them: entries and
+ * bytes per partition and per member, the max/mean ratio (1 is perfectly even, the hottest partition or
+ * member gets that many times its fair share) and the Gini coefficient (0 is perfectly even, close to 1
+ * means everything lands in one place). Keys are placed the way Hazelcast places them, honouring
+ * PartitionAware keys and, when given, the map's PartitioningStrategy.
+ */
+public class KeySkew {
+    private final PartitionService partitionService;
+    private final PartitioningStrategy<Object> strategy;
+    private final long[] partitionEntries;
+    private final long[] partitionBytes;
+    private final UUID[] partitionOwners;
+    private final Map<UUID, Integer> memberIndexes = new LinkedHashMap<>();
+
+    /**
+     * The strategy is the one configured on the map, null for the default partitioning
+     */
+    @SuppressWarnings("unchecked")
+    public KeySkew(PartitionService partitionService, PartitioningStrategy<?> strategy) {
+        this.partitionService = partitionService;
+        this.strategy = (PartitioningStrategy<Object>) strategy;
+        int partitionCount = partitionService.getPartitions().size();
+        this.partitionEntries = new long[partitionCount];
+        this.partitionBytes = new long[partitionCount];
+        this.partitionOwners = new UUID[partitionCount];
+        for (Partition partition : partitionService.getPartitions()) {
+            UUID owner = partition.getOwner() == null ? PartitionGrouping.UNKNOWN_OWNER : partition.getOwner().getUuid();
+            partitionOwners[partition.getPartitionId()] = owner;
+            memberIndexes.putIfAbsent(owner, memberIndexes.size());
+        }
+    }
+
+    /**
+     * Adds an entry of the given (estimated) size stored under the key
+     */
+    public void add(Object key, long bytes) {
+        Object partitionKey = strategy == null ? key : strategy.getPartitionKey(key);
+        int partitionId = partitionService.getPartition(partitionKey == null ? key : partitionKey).getPartitionId();
+        partitionEntries[partitionId]++;
+        partitionBytes[partitionId] += bytes;
+    }
+
+    public long[] getPartitionEntries() { return partitionEntries.clone(); }
+    public long[] getPartitionBytes() { return partitionBytes.clone(); }
+    public long[] getMemberEntries() { return sumByMember(partitionEntries); }
+    public long[] getMemberBytes() { return sumByMember(partitionBytes); }
+
+    /**
+     * Members in the order of getMemberEntries and getMemberBytes
+     */
+    public UUID[] getMembers() {
+        return memberIndexes.keySet().toArray(new UUID[0]);
+    }
+
+    public int getUsedPartitions() {
+        return (int) Arrays.stream(partitionEntries).filter(entries -> entries > 0).count();
+    }
+
+    public long getTotalEntries() {
+        return Arrays.stream(partitionEntries).sum();
+    }
+
+    private long[] sumByMember(long[] perPartition) {
+        long[] perMember = new long[memberIndexes.size()];
+        for (int partitionId = 0; partitionId < perPartition.length; partitionId++) {
+            perMember[memberIndexes.get(partitionOwners[partitionId])] += perPartition[partitionId];
+        }
+        return perMember;
+    }
+
+    /**
+     * Largest value divided by the mean, 0 when there is nothing to compare
+     */
+    public static double maxMeanRatio(long[] values) {
+        long total = Arrays.stream(values).sum();
+        if (values.length == 0 || total == 0) {
+            return 0;
+        }
+        return Arrays.stream(values).max().getAsLong() / ((double) total / values.length);
+    }
+
+    /**
+     * Gini coefficient of the values: 0 when all are equal, (n - 1) / n when a single one holds everything
+     */
+    public static double gini(long[] values) {
+        long total = Arrays.stream(values).sum();
+        if (values.length == 0 || total == 0) {
+            return 0;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double weightedSum = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            weightedSum += (i + 1) * (double) sorted[i];
+        }
+        int n = sorted.length;
+        return 2 * weightedSum / (n * (double) total) - (n + 1) / (double) n;
+    }
+
+    @Override
+    public String toString() {
+        long[] memberEntries = getMemberEntries();
+        long[] memberBytes = getMemberBytes();
+        return String.format(
+                "%d entries in %d/%d partitions; per partition: max/mean entries=%.2f, gini entries=%.3f, max/mean bytes=%.2f, gini bytes=%.3f; "
+                        + "per member: entries=%s, bytes=%s, max/mean entries=%.2f, gini entries=%.3f, max/mean bytes=%.2f, gini bytes=%.3f",
+                getTotalEntries(), getUsedPartitions(), partitionEntries.length,
+                maxMeanRatio(partitionEntries), gini(partitionEntries),
+                maxMeanRatio(partitionBytes), gini(partitionBytes),
+                Arrays.toString(memberEntries), Arrays.toString(memberBytes),
+                maxMeanRatio(memberEntries), gini(memberEntries),
+                maxMeanRatio(memberBytes), gini(memberBytes));
+    }
+}
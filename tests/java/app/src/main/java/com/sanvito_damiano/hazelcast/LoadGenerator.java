@@ -0,0 +1,172 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a fixed number of concurrent workers that repeat an operation until a deadline,
+ * recording the latency of every call. Workers run either on platform threads or, when the
+ * JVM supports them, on virtual threads, so that thousands of client operations can be
+ * in flight without paying for thousands of OS threads.
+ */
+public class LoadGenerator {
+
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    /**
+     * A single operation issued by a worker
+     */
+    @FunctionalInterface
+    public interface Operation {
+        void execute(int workerId, ThreadLocalRandom random) throws Exception;
+    }
+
+    // Looked up reflectively so that the project keeps compiling on Java 17
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private final ThreadMode threadMode;
+    private final int concurrency;
+    private volatile boolean stopRequested;
+
+    public LoadGenerator(ThreadMode threadMode, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+        }
+        if (threadMode == ThreadMode.VIRTUAL && !isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later, running on " + Runtime.version());
+        }
+        this.threadMode = threadMode;
+        this.concurrency = concurrency;
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    public ThreadMode getThreadMode() { return threadMode; }
+    public int getConcurrency() { return concurrency; }
+
+    /**
+     * Ends the current run before its duration elapses, workers finish their ongoing operation first
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Runs the operation on every worker for the given duration, all workers start together.
+     * Failed operations are counted and do not stop the worker.
+     */
+    public Result run(long duration, TimeUnit unit, LatencyRecorder recorder, Operation operation) throws InterruptedException {
+        stopRequested = false;
+        LongAdder operations = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        CountDownLatch readyLatch = new CountDownLatch(concurrency);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        long durationNanos = unit.toNanos(duration);
+        long[] deadline = new long[1];
+
+        ExecutorService executor = newExecutor();
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        try {
+            for (int w = 0; w < concurrency; w++) {
+                int workerId = w;
+                futures.add(executor.submit(() -> {
+                    readyLatch.countDown();
+                    startLatch.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long end = deadline[0];
+                    while (System.nanoTime() < end && !stopRequested) {
+                        long start = System.nanoTime();
+                        try {
+                            operation.execute(workerId, random);
+                            recorder.recordSince(start);
+                            operations.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return null;
+                        } catch (Exception e) {
+                            errors.increment();
+                            firstError.compareAndSet(null, e);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // Start measuring only once every worker is scheduled, thread creation is not part of the run
+            readyLatch.await();
+            long start = System.nanoTime();
+            deadline[0] = start + durationNanos;
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    errors.increment();
+                    firstError.compareAndSet(null, e.getCause());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return new Result(operations.sum(), errors.sum(), elapsed, firstError.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService newExecutor() {
+        if (threadMode == ThreadMode.PLATFORM) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of a run: completed and failed operations over the measured time
+     */
+    public static class Result {
+        private final long operations;
+        private final long errors;
+        private final long elapsedNanos;
+        private final Throwable firstError;
+
+        Result(long operations, long errors, long elapsedNanos, Throwable firstError) {
+            this.operations = operations;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.firstError = firstError;
+        }
+
+        public long getOperations() { return operations; }
+        public long getErrors() { return errors; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public Throwable getFirstError() { return firstError; }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : operations / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+}
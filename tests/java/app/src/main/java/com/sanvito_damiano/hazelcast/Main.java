@@ -1,22 +1,27 @@
 package com.sanvito_damiano.hazelcast;
 
-import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.io.IoBuilder;
 
 import com.hazelcast.client.HazelcastClient;
-import com.hazelcast.client.config.ClientConfig;
-import com.hazelcast.config.Config;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.sanvito_damiano.hazelcast.benchmarks.*;
 import com.sanvito_damiano.hazelcast.tests.*;
 import com.sanvito_damiano.hazelcast.tests.data_structures.*;
 
@@ -45,15 +50,69 @@ public class Main {
         put("lite_member", LiteMemberTest.class);
     }};
 
+    private static Map<String, Class<? extends AbstractTest>> benchmarks = new LinkedHashMap<>() {{
+        put("contention", ContentionBenchmark.class);
+        put("client_scaling", ClientScalingBenchmark.class);
+        put("bulk_operations", BulkOperationsBenchmark.class);
+        put("serialization", SerializationBenchmark.class);
+        put("query_index", QueryIndexBenchmark.class);
+        put("near_cache", NearCacheBenchmark.class);
+        put("aggregation", AggregationBenchmark.class);
+        put("local_scan", LocalScanBenchmark.class);
+        put("scatter_gather", ScatterGatherBenchmark.class);
+        put("jet_pipeline", JetPipelineBenchmark.class);
+        put("streaming_pipeline", StreamingPipelineBenchmark.class);
+        put("snapshot", SnapshotBenchmark.class);
+        put("incremental_replication", IncrementalReplicationBenchmark.class);
+        put("sql", SqlBenchmark.class);
+        put("migration", MigrationBenchmark.class);
+        put("hot_region", HotRegionBenchmark.class);
+        put("colocated_join", ColocatedJoinBenchmark.class);
+    }};
+
+    private static final int ISOLATED_BASE_PORT = 6001;
+    private static final int BENCHMARK_BASE_PORT = 6501;
+
     private static HazelcastInstance memberInstance1;
     @SuppressWarnings("unused")
     private static HazelcastInstance memberInstance2;
     private static HazelcastInstance clientInstance;
 
     public static void main(String[] args) throws InterruptedException {
-        String folder;
-        if (args.length > 0) {
-            folder = args[0];
+        String folder = null;
+        boolean parallel = false;
+        Set<String> selectedBenchmarks = null;
+        // Every isolated suite hosts two members and a client, so by default run one suite per two cores
+        int concurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        for (String arg : args) {
+            if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (arg.startsWith("--parallel=")) {
+                parallel = true;
+                try {
+                    concurrency = Integer.parseInt(arg.substring("--parallel=".length()));
+                } catch (NumberFormatException e) {
+                    concurrency = 0;
+                }
+                if (concurrency < 1) {
+                    System.err.println("Invalid concurrency limit: " + arg + ". Usage: --parallel[=N] with N >= 1.");
+                    return;
+                }
+            } else if (arg.equals("--benchmarks")) {
+                selectedBenchmarks = benchmarks.keySet();
+            } else if (arg.startsWith("--benchmarks=")) {
+                selectedBenchmarks = new LinkedHashSet<>(Arrays.asList(arg.substring("--benchmarks=".length()).split(",")));
+                if (!benchmarks.keySet().containsAll(selectedBenchmarks)) {
+                    System.err.println("Unknown benchmark in " + arg + ". Available benchmarks: " + benchmarks.keySet());
+                    return;
+                }
+            } else {
+                folder = arg;
+            }
+        }
+
+        if (folder != null) {
             if (!folder.matches("[a-zA-Z0-9_\\-]+")) {
                 System.err.println("Invalid folder name. Only alphanumeric characters, underscores, and hyphens are allowed.");
                 return;
@@ -68,121 +127,162 @@ public class Main {
         .setLevel(Level.INFO)
         .buildPrintStream());
 
+        if (selectedBenchmarks != null) {
+            runBenchmarks(folder, selectedBenchmarks);
+            return;
+        }
+
+        if (parallel) {
+            runTestsInParallel(folder, concurrency);
+        } else {
+            runTestsSequentially(folder);
+        }
+
+        Hazelcast.shutdownAll();
+        HazelcastClient.shutdownAll();
+
         try {
-            // Configure first member
-            Config config1 = new Config();
-            config1.getJetConfig().setEnabled(true);
-            config1.setInstanceName("member1");
-            config1.setProperty("hazelcast.logging.type", "log4j2");
-            
-            // Configure second member
-            Config config2 = new Config();
-            config2.getJetConfig().setEnabled(true);
-            config2.setInstanceName("member2");
-            config2.setProperty("hazelcast.logging.type", "log4j2");
+            for (Entry<String, Class<? extends AbstractTest>> testEntry : special_tests.entrySet()) {
+                runTestSuite(testEntry.getKey(), testEntry.getValue(), null, ClusterProfile.DEFAULT, folder);
+            }
+        } catch (Exception e) {
+            System.out.println("An Unexpected error happened: " + e.getMessage());
+            System.out.println("Error: " + e.getMessage());
+        } finally {
+            HazelcastClient.shutdownAll();
+            Hazelcast.shutdownAll();
+        }
+    }
 
-            // Configure client
-            ClientConfig clientConfig = new ClientConfig();
-            clientConfig.setInstanceName("client");
-            clientConfig.setProperty("hazelcast.logging.type", "log4j2");
+    /**
+     * Runs the selected benchmarks one after the other, each one starts its own isolated cluster
+     */
+    private static void runBenchmarks(String folder, Set<String> selectedBenchmarks) {
+        try {
+            int index = 0;
+            for (Entry<String, Class<? extends AbstractTest>> benchmarkEntry : benchmarks.entrySet()) {
+                String benchmarkName = benchmarkEntry.getKey();
+                ClusterProfile profile = ClusterProfile.isolated("benchmark-" + benchmarkName.replace('_', '-'),
+                                                                 BENCHMARK_BASE_PORT + index++ * ClusterProfile.PORT_COUNT);
+                if (selectedBenchmarks.contains(benchmarkName)) {
+                    runTestSuite(benchmarkName, benchmarkEntry.getValue(), null, profile, folder);
+                }
+            }
+        } finally {
+            HazelcastClient.shutdownAll();
+            Hazelcast.shutdownAll();
+        }
+    }
 
+    /**
+     * Runs all the suites one after the other against a single shared cluster
+     */
+    private static void runTestsSequentially(String folder) throws InterruptedException {
+        ClusterProfile profile = ClusterProfile.DEFAULT;
+        try {
             // Create a Hazelcast cluster with two instances
-            memberInstance1 = Hazelcast.newHazelcastInstance(config1);
-            memberInstance2 = Hazelcast.newHazelcastInstance(config2);
+            memberInstance1 = Hazelcast.newHazelcastInstance(profile.createMemberConfig("member1"));
+            memberInstance2 = Hazelcast.newHazelcastInstance(profile.createMemberConfig("member2"));
 
-            clientInstance = HazelcastClient.newHazelcastClient(clientConfig);
+            clientInstance = HazelcastClient.newHazelcastClient(profile.createClientConfig("client"));
             
             for (Entry<String, Class<? extends AbstractTest>> testEntry : tests.entrySet()) {
-                try {
-                    String testName = testEntry.getKey();
-                    AbstractTest testInstance = testEntry.getValue().getConstructor(HazelcastInstance.class, String.class).newInstance(clientInstance, testName);
-
-                    System.out.println("Running tests for: " + testName);
-                    testInstance.setup();
-                    
-                    for (Method method : testInstance.getClass().getMethods())
-                    {
-                        try {
-                            testInstance.reset();
-                            if (method.getName().startsWith("test")) {
-                                System.out.println("Executing: " + method.getName());
-                                method.invoke(testInstance);
-                            }
-                        } catch (Exception e) {
-                            System.out.println("Error during test execution for: " + testName + " - " + method.getName());
-                            System.out.println("Error: " + e.getMessage());
-                            testInstance.recordTestResult(method.getName(), false, "Failed to execute test: " + e.getMessage());
-                        }
-                    }
-                    testInstance.cleanup();
-
-                    for (DistributedObject distributedObject : clientInstance.getDistributedObjects()) {
-                        distributedObject.destroy();
-                    }
-                    
-                    String report = testInstance.generateReport(folder, testName);
-                    System.out.println("Test report generated: " + report);
-                    System.out.println(testInstance.getSummary());
-                } catch (Exception e) {
-                    System.out.println("Failed to run test: " + testEntry.getKey());
-                    System.out.println("Error: " + e.getMessage());
-                }
+                runTestSuite(testEntry.getKey(), testEntry.getValue(), clientInstance, profile, folder);
             }
         } catch (Exception e) {
             System.out.println("An Unexpected error happened: " + e.getMessage());
             System.out.println("Error: " + e.getMessage());
         } finally {
             // Shutdown the Hazelcast instances
-            clientInstance.shutdown();
-            memberInstance1.getCluster().shutdown();
+            if (clientInstance != null) {
+                clientInstance.shutdown();
+            }
+            if (memberInstance1 != null) {
+                memberInstance1.getCluster().shutdown();
+            }
         }
 
-        Thread.sleep(1000); // Wait for shutdown to complete
+        ClusterAwaiter.awaitAllShutdown(); // Wait for the cluster-wide shutdown to reach every member
+    }
 
-        Hazelcast.shutdownAll();
-        HazelcastClient.shutdownAll();
+    /**
+     * Runs the suites concurrently, each one on its own isolated cluster
+     */
+    private static void runTestsInParallel(String folder, int concurrency) throws InterruptedException {
+        System.out.println("Running " + tests.size() + " test suites in parallel, concurrency limit: " + concurrency);
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        int index = 0;
+        for (Entry<String, Class<? extends AbstractTest>> testEntry : tests.entrySet()) {
+            String testName = testEntry.getKey();
+            ClusterProfile profile = ClusterProfile.isolated("suite-" + testName.replace('_', '-'),
+                                                             ISOLATED_BASE_PORT + index++ * ClusterProfile.PORT_COUNT);
+            futures.put(testName, pool.submit(() -> runTestSuiteOnIsolatedCluster(testName, testEntry.getValue(), profile, folder)));
+        }
+        pool.shutdown();
 
-        Thread.sleep(1000); // Ensure all resources are cleaned up before exiting
+        for (Entry<String, Future<?>> future : futures.entrySet()) {
+            try {
+                future.getValue().get();
+            } catch (ExecutionException e) {
+                System.out.println("Failed to run test: " + future.getKey());
+                System.out.println("Error: " + e.getCause().getMessage());
+            }
+        }
+    }
 
+    /**
+     * Starts a two-member cluster plus client for a single suite and tears it down afterwards
+     */
+    private static void runTestSuiteOnIsolatedCluster(String testName, Class<? extends AbstractTest> testClass,
+                                                      ClusterProfile profile, String folder) {
+        HazelcastInstance member1 = null;
+        HazelcastInstance client = null;
         try {
-            for (Entry<String, Class<? extends AbstractTest>> testEntry : special_tests.entrySet()) {
-                try {
-                    String testName = testEntry.getKey();
-                    AbstractTest testInstance = testEntry.getValue().getConstructor(HazelcastInstance.class, String.class).newInstance(null, testName);
-
-                    System.out.println("Running tests for: " + testName);
-                    testInstance.setup();
-                    
-                    for (Method method : testInstance.getClass().getMethods())
-                    {
-                        try {
-                            testInstance.reset();
-                            if (method.getName().startsWith("test")) {
-                                System.out.println("Executing: " + method.getName());
-                                method.invoke(testInstance);
-                            }
-                        } catch (Exception e) {
-                            System.out.println("Error during test execution for: " + testName + " - " + method.getName());
-                            System.out.println("Error: " + e.getMessage());
-                            testInstance.recordTestResult(method.getName(), false, "Failed to execute test: " + e.getMessage());
-                        }
-                    }
-                    testInstance.cleanup();
-                    
-                    String report = testInstance.generateReport(folder, testName);
-                    System.out.println("Test report generated: " + report);
-                    System.out.println(testInstance.getSummary());
-                } catch (Exception e) {
-                    System.out.println("Failed to run test: " + testEntry.getKey());
-                    System.out.println("Error: " + e.getMessage());
+            member1 = Hazelcast.newHazelcastInstance(profile.createMemberConfig("member1"));
+            Hazelcast.newHazelcastInstance(profile.createMemberConfig("member2"));
+            client = HazelcastClient.newHazelcastClient(profile.createClientConfig("client"));
+
+            runTestSuite(testName, testClass, client, profile, folder);
+        } finally {
+            if (client != null) {
+                client.shutdown();
+            }
+            if (member1 != null) {
+                member1.getCluster().shutdown();
+            }
+        }
+    }
+
+    /**
+     * Runs every test method of a suite and writes its report. Special suites receive a null
+     * instance and create their own cluster in setup()
+     */
+    private static void runTestSuite(String testName, Class<? extends AbstractTest> testClass,
+                                     HazelcastInstance instance, ClusterProfile profile, String folder) {
+        try {
+            AbstractTest testInstance = testClass.getConstructor(HazelcastInstance.class, String.class).newInstance(instance, testName);
+            testInstance.setClusterProfile(profile);
+
+            System.out.println("Running tests for: " + testName);
+            testInstance.setup();
+            
+            TestPlan.compile(testClass).execute(testInstance, testName);
+            testInstance.cleanup();
+
+            if (instance != null) {
+                for (DistributedObject distributedObject : instance.getDistributedObjects()) {
+                    distributedObject.destroy();
                 }
             }
+            
+            String report = testInstance.generateReport(folder, testName);
+            System.out.println("Test report generated: " + report);
+            System.out.println(testInstance.getSummary());
         } catch (Exception e) {
-            System.out.println("An Unexpected error happened: " + e.getMessage());
+            System.out.println("Failed to run test: " + testName);
             System.out.println("Error: " + e.getMessage());
-        } finally {
-            HazelcastClient.shutdownAll();
-            Hazelcast.shutdownAll();
         }
     }
 }
@@ -0,0 +1,152 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.partition.MigrationListener;
+import com.hazelcast.partition.MigrationState;
+import com.hazelcast.partition.ReplicaMigrationEvent;
+
+/**
+ * Collects the migrations that follow a topology change: when they start and end, how many partition
+ * replicas move and how many of them are primary replicas. Migration events are published on the
+ * master member, so the tracker must be registered there (see {@link #attachToMaster}).
+ */
+public class MigrationTracker implements MigrationListener {
+    // A topology change that needs no migration never starts one, after this long without a start it is taken as done
+    private static final long NO_MIGRATION_GRACE_MILLIS = 5000;
+
+    private final Object monitor = new Object();
+    private final AtomicInteger migrationProcesses = new AtomicInteger();
+    private final AtomicInteger plannedMigrations = new AtomicInteger();
+    private final AtomicInteger completedReplicas = new AtomicInteger();
+    private final AtomicInteger completedPrimaryReplicas = new AtomicInteger();
+    private final AtomicInteger failedReplicas = new AtomicInteger();
+    private volatile long firstStartNanos = -1;
+    private volatile long lastFinishNanos = -1;
+    private volatile boolean migrating;
+
+    private HazelcastInstance master;
+    private UUID registrationId;
+
+    /**
+     * Registers the tracker on the master of the cluster the instance belongs to, the master must run in this JVM
+     */
+    public static MigrationTracker attachToMaster(HazelcastInstance anyInstance) {
+        Member masterMember = anyInstance.getCluster().getMembers().iterator().next();
+        for (HazelcastInstance instance : Hazelcast.getAllHazelcastInstances()) {
+            if (instance.getLifecycleService().isRunning()
+                    && instance.getCluster().getLocalMember().getUuid().equals(masterMember.getUuid())) {
+                MigrationTracker tracker = new MigrationTracker();
+                tracker.master = instance;
+                tracker.registrationId = instance.getPartitionService().addMigrationListener(tracker);
+                return tracker;
+            }
+        }
+        throw new IllegalStateException("The master member " + masterMember + " does not run in this JVM");
+    }
+
+    /**
+     * Removes the tracker from the master, the collected figures stay available
+     */
+    public void detach() {
+        if (master != null && master.getLifecycleService().isRunning()) {
+            master.getPartitionService().removeMigrationListener(registrationId);
+        }
+        master = null;
+    }
+
+    @Override
+    public void migrationStarted(MigrationState state) {
+        migrationProcesses.incrementAndGet();
+        plannedMigrations.addAndGet(state.getPlannedMigrations());
+        synchronized (monitor) {
+            if (firstStartNanos < 0) {
+                firstStartNanos = System.nanoTime();
+            }
+            migrating = true;
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void migrationFinished(MigrationState state) {
+        synchronized (monitor) {
+            lastFinishNanos = System.nanoTime();
+            migrating = false;
+            monitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void replicaMigrationCompleted(ReplicaMigrationEvent event) {
+        completedReplicas.incrementAndGet();
+        if (event.getReplicaIndex() == 0) {
+            completedPrimaryReplicas.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void replicaMigrationFailed(ReplicaMigrationEvent event) {
+        failedReplicas.incrementAndGet();
+    }
+
+    /**
+     * Waits until the migration processes have finished, or until none started within a few seconds, and then
+     * until the cluster is safe, i.e. no migration is running and every backup is in sync. Returns false on timeout
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        long graceDeadline = start + TimeUnit.MILLISECONDS.toNanos(NO_MIGRATION_GRACE_MILLIS);
+        synchronized (monitor) {
+            while (migrating || lastFinishNanos < 0) {
+                long now = System.nanoTime();
+                if (firstStartNanos < 0 && now - graceDeadline >= 0) {
+                    break; // No migration needed
+                }
+                if (now - deadline >= 0) {
+                    return false;
+                }
+                long waitUntil = firstStartNanos < 0 ? Math.min(deadline, graceDeadline) : deadline;
+                TimeUnit.NANOSECONDS.timedWait(monitor, waitUntil - now);
+            }
+        }
+        HazelcastInstance current = master;
+        if (current != null) {
+            try {
+                ClusterAwaiter.awaitClusterSafe(current);
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isMigrating() { return migrating; }
+    public int getMigrationProcesses() { return migrationProcesses.get(); }
+    public int getPlannedMigrations() { return plannedMigrations.get(); }
+    public int getCompletedReplicas() { return completedReplicas.get(); }
+    public int getCompletedPrimaryReplicas() { return completedPrimaryReplicas.get(); }
+    public int getFailedReplicas() { return failedReplicas.get(); }
+
+    /**
+     * Time from the start of the first migration process to the end of the last one, -1 if none finished
+     */
+    public long getDurationNanos() {
+        return firstStartNanos < 0 || lastFinishNanos < 0 ? -1 : lastFinishNanos - firstStartNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d migration processes in %s, %d planned migrations, %d replicas moved (%d primary), %d failed",
+                getMigrationProcesses(),
+                getDurationNanos() < 0 ? "n/a" : String.format("%.1fms", getDurationNanos() / 1_000_000.0),
+                getPlannedMigrations(), getCompletedReplicas(), getCompletedPrimaryReplicas(), getFailedReplicas());
+    }
+}
@@ -0,0 +1,68 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Reads the bytes received on the loopback interface from /proc/net/dev. Embedded members and
+ * clients in the same JVM talk to each other over loopback sockets, so the difference between
+ * two readings approximates the cluster traffic caused by an operation (plus any other local
+ * traffic on the host). Only available on Linux.
+ */
+public final class NetworkTrafficProbe {
+    private static final Path PROC_NET_DEV = Paths.get("/proc/net/dev");
+    private static final String LOOPBACK = "lo";
+
+    private NetworkTrafficProbe() {
+    }
+
+    public static boolean isAvailable() {
+        return readLoopbackBytes() >= 0;
+    }
+
+    /**
+     * Total bytes received on the loopback interface, -1 when they cannot be read
+     */
+    public static long readLoopbackBytes() {
+        try {
+            List<String> lines = Files.readAllLines(PROC_NET_DEV);
+            for (String line : lines) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && line.substring(0, colon).trim().equals(LOOPBACK)) {
+                    // Fields after the colon: rx bytes, rx packets, ... tx bytes, ...
+                    String[] fields = line.substring(colon + 1).trim().split("\\s+");
+                    return Long.parseLong(fields[0]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not on Linux or unexpected format
+        }
+        return -1;
+    }
+
+    /**
+     * Formats the bytes between two readings, "n/a" when the probe is not available
+     */
+    public static String formatDelta(long before, long after) {
+        if (before < 0 || after < 0) {
+            return "n/a";
+        }
+        return formatBytes(after - before);
+    }
+
+    /**
+     * Formats a byte count as B, KB or MB
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+        }
+        if (bytes >= 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return bytes + " B";
+    }
+}
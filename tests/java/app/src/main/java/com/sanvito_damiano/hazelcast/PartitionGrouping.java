@@ -0,0 +1,57 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.partition.PartitionService;
+
+/**
+ * Groups keys and entries by the member owning their partition, so that bulk
+ * operations such as putAll and getAll can be split into one call per member
+ */
+public final class PartitionGrouping {
+
+    /**
+     * Owner used for keys whose partition is not assigned yet, e.g. during a migration
+     */
+    public static final UUID UNKNOWN_OWNER = new UUID(0, 0);
+
+    private PartitionGrouping() {
+    }
+
+    /**
+     * Returns the UUID of the member owning the partition of the key
+     */
+    public static UUID ownerOf(PartitionService partitionService, Object key) {
+        Member owner = partitionService.getPartition(key).getOwner();
+        return owner == null ? UNKNOWN_OWNER : owner.getUuid();
+    }
+
+    /**
+     * Splits the entries into one map per owner member
+     */
+    public static <K, V> Map<UUID, Map<K, V>> entriesByOwner(PartitionService partitionService, Map<K, V> entries) {
+        Map<UUID, Map<K, V>> groups = new HashMap<>();
+        for (Map.Entry<K, V> entry : entries.entrySet()) {
+            groups.computeIfAbsent(ownerOf(partitionService, entry.getKey()), k -> new HashMap<>())
+                  .put(entry.getKey(), entry.getValue());
+        }
+        return groups;
+    }
+
+    /**
+     * Splits the keys into one set per owner member
+     */
+    public static <K> Map<UUID, Set<K>> keysByOwner(PartitionService partitionService, Collection<K> keys) {
+        Map<UUID, Set<K>> groups = new HashMap<>();
+        for (K key : keys) {
+            groups.computeIfAbsent(ownerOf(partitionService, key), k -> new HashSet<>()).add(key);
+        }
+        return groups;
+    }
+}
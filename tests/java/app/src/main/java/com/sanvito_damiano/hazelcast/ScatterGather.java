@@ -0,0 +1,128 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.MemberSelector;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.MultiExecutionCallback;
+
+/**
+ * Submits a task to several members (or key owners) and merges the partial results as soon as
+ * each one arrives, instead of blocking on the futures one by one in submission order.
+ *
+ * <pre>
+ * CompletableFuture&lt;Long&gt; total = new ScatterGather&lt;Integer, Long&gt;(0L, (sum, partial) -&gt; sum + partial)
+ *         .submitToAllMembers(executor, new LocalScanTask());
+ * </pre>
+ */
+public class ScatterGather<T, A> {
+    private final A identity;
+    private final BiFunction<A, ? super T, A> merger;
+    private Consumer<? super T> partialResultListener = partial -> { };
+
+    /**
+     * @param identity the initial value of the merged result
+     * @param merger   combines the merged result with one partial result, called by one thread at a time
+     */
+    public ScatterGather(A identity, BiFunction<A, ? super T, A> merger) {
+        this.identity = identity;
+        this.merger = merger;
+    }
+
+    /**
+     * Registers a listener invoked with every partial result right after it has been merged
+     */
+    public ScatterGather<T, A> onPartialResult(Consumer<? super T> listener) {
+        this.partialResultListener = listener;
+        return this;
+    }
+
+    public CompletableFuture<A> submitToAllMembers(IExecutorService executor, Callable<T> task) {
+        Gathering gathering = new Gathering();
+        executor.submitToAllMembers(task, gathering.multiExecutionCallback());
+        return gathering.result;
+    }
+
+    public CompletableFuture<A> submitToMembers(IExecutorService executor, Callable<T> task, MemberSelector memberSelector) {
+        Gathering gathering = new Gathering();
+        executor.submitToMembers(task, memberSelector, gathering.multiExecutionCallback());
+        return gathering.result;
+    }
+
+    /**
+     * Submits every task to the owner of its key, tasks for keys on the same member run independently
+     */
+    public <K> CompletableFuture<A> submitToKeyOwners(IExecutorService executor, Map<K, ? extends Callable<T>> tasksByKey) {
+        Gathering gathering = new Gathering();
+        if (tasksByKey.isEmpty()) {
+            gathering.result.complete(identity);
+            return gathering.result;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(tasksByKey.size());
+        for (Map.Entry<K, ? extends Callable<T>> entry : tasksByKey.entrySet()) {
+            executor.submitToKeyOwner(entry.getValue(), entry.getKey(), new ExecutionCallback<T>() {
+                @Override
+                public void onResponse(T response) {
+                    gathering.merge(response);
+                    if (remaining.decrementAndGet() == 0) {
+                        gathering.complete();
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    gathering.result.completeExceptionally(t);
+                }
+            });
+        }
+        return gathering.result;
+    }
+
+    /**
+     * State of a single scatter-gather round
+     */
+    private class Gathering {
+        private final CompletableFuture<A> result = new CompletableFuture<>();
+        private A merged = identity;
+
+        synchronized void merge(T partial) {
+            if (result.isDone()) {
+                return;
+            }
+            merged = merger.apply(merged, partial);
+            partialResultListener.accept(partial);
+        }
+
+        synchronized void complete() {
+            result.complete(merged);
+        }
+
+        MultiExecutionCallback multiExecutionCallback() {
+            return new MultiExecutionCallback() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public void onResponse(Member member, Object value) {
+                    // Failures on a member are delivered as the response value
+                    if (value instanceof Throwable) {
+                        result.completeExceptionally((Throwable) value);
+                    } else {
+                        merge((T) value);
+                    }
+                }
+
+                @Override
+                public void onComplete(Map<Member, Object> values) {
+                    complete();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sanvito_damiano.hazelcast.tests.AbstractTest;
+
+/**
+ * Pre-built execution plan of a test suite: the test methods are discovered once per class,
+ * ordered by name and bound as MethodHandles, so running a suite needs no further reflection
+ */
+public class TestPlan {
+    private static final Map<Class<? extends AbstractTest>, TestPlan> plans = new ConcurrentHashMap<>();
+    private static final MethodType TEST_METHOD_TYPE = MethodType.methodType(void.class, AbstractTest.class);
+
+    private final List<TestCase> testCases;
+
+    private TestPlan(Class<? extends AbstractTest> testClass) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        List<TestCase> cases = new ArrayList<>();
+
+        for (Method method : testClass.getMethods()) {
+            if (!isTestMethod(method)) {
+                continue;
+            }
+            try {
+                MethodHandle handle = lookup.unreflect(method).asType(TEST_METHOD_TYPE);
+                cases.add(new TestCase(method.getName(), handle));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot bind test method " + testClass.getSimpleName() + "." + method.getName(), e);
+            }
+        }
+
+        cases.sort(Comparator.comparing(TestCase::getName));
+        this.testCases = Collections.unmodifiableList(cases);
+    }
+
+    /**
+     * Returns the plan for the given suite, building it on first use
+     */
+    public static TestPlan compile(Class<? extends AbstractTest> testClass) {
+        return plans.computeIfAbsent(testClass, TestPlan::new);
+    }
+
+    /**
+     * Test methods are public, non-static, take no arguments and their name starts with "test"
+     */
+    private static boolean isTestMethod(Method method) {
+        return method.getName().startsWith("test")
+                && method.getParameterCount() == 0
+                && !Modifier.isStatic(method.getModifiers())
+                && !method.isBridge()
+                && !method.isSynthetic()
+                && AbstractTest.class.isAssignableFrom(method.getDeclaringClass());
+    }
+
+    public List<TestCase> getTestCases() {
+        return testCases;
+    }
+
+    /**
+     * Runs every test of the plan, resetting the suite before each one.
+     * Failures are recorded in the suite report and do not stop the plan
+     */
+    public void execute(AbstractTest testInstance, String testName) {
+        for (TestCase testCase : testCases) {
+            try {
+                testInstance.reset();
+                System.out.println("Executing: " + testCase.getName());
+                testCase.getHandle().invokeExact(testInstance);
+            } catch (Throwable e) {
+                System.out.println("Error during test execution for: " + testName + " - " + testCase.getName());
+                System.out.println("Error: " + e.getMessage());
+                testInstance.recordTestResult(testCase.getName(), false, "Failed to execute test: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A single test method bound to a (AbstractTest)void handle
+     */
+    public static class TestCase {
+        private final String name;
+        private final MethodHandle handle;
+
+        TestCase(String name, MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        public String getName() { return name; }
+        public MethodHandle getHandle() { return handle; }
+    }
+}
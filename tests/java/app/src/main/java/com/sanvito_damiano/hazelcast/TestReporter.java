@@ -6,7 +6,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles reporting and storing test results
@@ -14,6 +18,8 @@ import java.util.List;
 public class TestReporter {
     private String testCategory;
     private List<TestResult> testResults = new ArrayList<>();
+    private Map<String, LatencyRecorder> latencyRecorders = new ConcurrentHashMap<>();
+    private Map<String, TimeSeries> timeSeries = new ConcurrentHashMap<>();
     private static final DateTimeFormatter timestampFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     public TestReporter(String testCategory) {
@@ -27,6 +33,36 @@ public class TestReporter {
         TestResult result = new TestResult(testName, success, message);
         testResults.add(result);
     }
+
+    /**
+     * Records a test that did not run, reported as SKIP rather than as a pass or a failure
+     */
+    public void recordSkipped(String testName, String reason) {
+        testResults.add(new TestResult(testName, false, reason, true));
+    }
+
+    /**
+     * Returns the latency recorder for the given operation, creating it on first use
+     */
+    public LatencyRecorder getLatencyRecorder(String operation) {
+        return latencyRecorders.computeIfAbsent(operation, LatencyRecorder::new);
+    }
+
+    /**
+     * Returns the time series with the given name, creating it on first use
+     */
+    public TimeSeries getTimeSeries(String name) {
+        return timeSeries.computeIfAbsent(name, TimeSeries::new);
+    }
+
+    /**
+     * Get all latency recorders sorted by operation name
+     */
+    public List<LatencyRecorder> getLatencyRecorders() {
+        List<LatencyRecorder> recorders = new ArrayList<>(latencyRecorders.values());
+        recorders.sort(Comparator.comparing(LatencyRecorder::getOperation));
+        return recorders;
+    }
     
     /**
      * Writes all test results to a CSV file
@@ -45,14 +81,66 @@ public class TestReporter {
             // Write each test result
             for (TestResult result : testResults) {
                 writer.append(escapeCsvField(result.getTestName())).append(",")
-                      .append(result.isSuccess() ? "PASS" : "FAIL").append(",")
+                      .append(result.getStatus()).append(",")
                       .append(result.getTimestamp().format(timestampFormatter)).append(",")
                       .append(escapeCsvField(result.getMessage())).append("\n");
             }
             
             System.out.println("\nTest results written to: " + fileName);
-            return fileName;
         }
+
+        if (!latencyRecorders.isEmpty()) {
+            writeLatenciesToCSV(folder, baseFileName + "_latency.csv");
+        }
+        for (TimeSeries series : timeSeries.values()) {
+            writeTimeSeriesToCSV(folder, baseFileName + "_timeseries_" + series.getName() + ".csv", series);
+        }
+        return fileName;
+    }
+
+    /**
+     * Writes the latency percentiles of every recorded operation to a CSV file
+     */
+    private void writeLatenciesToCSV(String folder, String fileName) throws IOException {
+        try (FileWriter writer = new FileWriter(Paths.get("reports", folder, fileName).toFile())) {
+            writer.append("Operation,Count,Min (us),Mean (us),P50 (us),P90 (us),P99 (us),P99.9 (us),Max (us)\n");
+
+            for (LatencyRecorder recorder : getLatencyRecorders()) {
+                writer.append(escapeCsvField(recorder.getOperation())).append(",")
+                      .append(String.valueOf(recorder.getCount())).append(",")
+                      .append(toMicros(recorder.getMin())).append(",")
+                      .append(toMicros(recorder.getMean())).append(",")
+                      .append(toMicros(recorder.getValueAtPercentile(50))).append(",")
+                      .append(toMicros(recorder.getValueAtPercentile(90))).append(",")
+                      .append(toMicros(recorder.getValueAtPercentile(99))).append(",")
+                      .append(toMicros(recorder.getValueAtPercentile(99.9))).append(",")
+                      .append(toMicros(recorder.getMax())).append("\n");
+            }
+
+            System.out.println("Latency results written to: " + fileName);
+        }
+    }
+
+    /**
+     * Writes every sample of a time series, with times relative to the creation of the series
+     */
+    private void writeTimeSeriesToCSV(String folder, String fileName, TimeSeries series) throws IOException {
+        try (FileWriter writer = new FileWriter(Paths.get("reports", folder, fileName).toFile())) {
+            writer.append("Elapsed (ms),Latency (us),Success,Event\n");
+
+            for (TimeSeries.Sample sample : series.getSamples()) {
+                writer.append(String.format(Locale.ROOT, "%.3f", (sample.getStartNanos() - series.getOriginNanos()) / 1_000_000.0)).append(",")
+                      .append(sample.isEvent() ? "" : toMicros(sample.getLatencyNanos())).append(",")
+                      .append(sample.isEvent() ? "" : String.valueOf(sample.isSuccess())).append(",")
+                      .append(escapeCsvField(sample.getEvent())).append("\n");
+            }
+
+            System.out.println("Time series written to: " + fileName);
+        }
+    }
+
+    private static String toMicros(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
     }
     
     /**
@@ -77,10 +165,15 @@ public class TestReporter {
             summary.append(result.toString()).append("\n");
         }
 
-        summary.append(String.format("Total Tests: %d, Passed: %d, Failed: %d\n",
+        summary.append(String.format("Total Tests: %d, Passed: %d, Failed: %d, Skipped: %d\n",
                 testResults.size(),
                 testResults.stream().filter(TestResult::isSuccess).count(),
-                testResults.stream().filter(result -> !result.isSuccess()).count()));
+                testResults.stream().filter(result -> !result.isSuccess() && !result.isSkipped()).count(),
+                testResults.stream().filter(TestResult::isSkipped).count()));
+
+        for (LatencyRecorder recorder : getLatencyRecorders()) {
+            summary.append(recorder.toString()).append("\n");
+        }
 
         summary.append("========================================\n");
         
@@ -99,5 +192,7 @@ public class TestReporter {
      */
     public void clearResults() {
         testResults.clear();
+        latencyRecorders.clear();
+        timeSeries.clear();
     }
 }
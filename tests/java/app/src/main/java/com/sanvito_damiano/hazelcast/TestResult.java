@@ -9,25 +9,42 @@ public class TestResult {
     private String testName;
     private boolean success;
     private String message;
+    private boolean skipped;
     private LocalDateTime timestamp;
     
     public TestResult(String testName, boolean success, String message) {
+        this(testName, success, message, false);
+    }
+
+    /**
+     * A skipped test did not run (e.g. its requirements are missing), it is neither passed nor failed
+     */
+    public TestResult(String testName, boolean success, String message, boolean skipped) {
         this.testName = testName;
-        this.success = success;
+        this.success = success && !skipped;
         this.message = message;
+        this.skipped = skipped;
         this.timestamp = LocalDateTime.now();
     }
     
     public String getTestName() { return testName; }
     public boolean isSuccess() { return success; }
+    public boolean isSkipped() { return skipped; }
     public String getMessage() { return message; }
     public LocalDateTime getTimestamp() { return timestamp; }
     
+    /**
+     * PASS, FAIL or SKIP, as written in the reports
+     */
+    public String getStatus() {
+        return skipped ? "SKIP" : success ? "PASS" : "FAIL";
+    }
+
     @Override
     public String toString() {
         return String.format("[%s]: %s - %s", 
                              testName, 
-                             success ? "PASS" : "FAIL", 
+                             getStatus(), 
                              message);
     }
 }
@@ -0,0 +1,69 @@
+package com.sanvito_damiano.hazelcast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every sample of an operation in order, with the time it started, so that the behaviour
+ * around an event (e.g. a member leaving) can be plotted. Events are stored as samples without latency.
+ */
+public class TimeSeries {
+    private final String name;
+    private final long originNanos = System.nanoTime();
+    private final List<Sample> samples = new ArrayList<>();
+
+    public TimeSeries(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records an operation that started at startNanos (System.nanoTime()) and took latencyNanos
+     */
+    public synchronized void record(long startNanos, long latencyNanos, boolean success) {
+        samples.add(new Sample(startNanos, latencyNanos, success, null));
+    }
+
+    /**
+     * Records an operation that started at startNanos and ends now
+     */
+    public void recordSince(long startNanos, boolean success) {
+        record(startNanos, System.nanoTime() - startNanos, success);
+    }
+
+    /**
+     * Marks an event at the current time and returns that time
+     */
+    public synchronized long mark(String event) {
+        long now = System.nanoTime();
+        samples.add(new Sample(now, -1, true, event));
+        return now;
+    }
+
+    public String getName() { return name; }
+    public long getOriginNanos() { return originNanos; }
+
+    public synchronized List<Sample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    public static class Sample {
+        private final long startNanos;
+        private final long latencyNanos;
+        private final boolean success;
+        private final String event;
+
+        private Sample(long startNanos, long latencyNanos, boolean success, String event) {
+            this.startNanos = startNanos;
+            this.latencyNanos = latencyNanos;
+            this.success = success;
+            this.event = event;
+        }
+
+        public long getStartNanos() { return startNanos; }
+        public long getEndNanos() { return startNanos + Math.max(0, latencyNanos); }
+        public long getLatencyNanos() { return latencyNanos; }
+        public boolean isSuccess() { return success; }
+        public boolean isEvent() { return event != null; }
+        public String getEvent() { return event; }
+    }
+}
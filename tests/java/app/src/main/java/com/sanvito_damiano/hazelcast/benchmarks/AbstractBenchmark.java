@@ -0,0 +1,100 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.tests.AbstractTest;
+
+/**
+ * Base class for benchmark suites. Each benchmark starts its own cluster in setup()
+ * so that it can tune member and client configuration, and reads its parameters
+ * from system properties prefixed with "benchmark." (e.g. -Dbenchmark.contention.threads=1,2,4)
+ */
+public abstract class AbstractBenchmark extends AbstractTest {
+    protected final List<HazelcastInstance> members = new ArrayList<>();
+
+    public AbstractBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    /**
+     * Number of members started in setup()
+     */
+    protected int getMemberCount() {
+        return 2;
+    }
+
+    /**
+     * Hook to customise the configuration of every member
+     */
+    protected void configureMember(Config config) {
+    }
+
+    /**
+     * Hook to customise the configuration of the benchmark client
+     */
+    protected void configureClient(ClientConfig clientConfig) {
+    }
+
+    @Override
+    public void setup() {
+        for (int i = 1; i <= getMemberCount(); i++) {
+            Config config = createMemberConfig("member" + i);
+            configureMember(config);
+            members.add(Hazelcast.newHazelcastInstance(config));
+        }
+
+        ClientConfig clientConfig = clusterProfile.createClientConfig("client");
+        configureClient(clientConfig);
+        hazelcastInstance = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    /**
+     * Shuts the cluster down and waits for every member to stop, so that the next cluster can reuse the
+     * instance names without joining the one still shutting down
+     */
+    @Override
+    public void cleanup() {
+        hazelcastInstance.shutdown();
+        members.get(0).getCluster().shutdown();
+        try {
+            for (HazelcastInstance member : members) {
+                ClusterAwaiter.awaitShutdown(member);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            members.clear(); // A restart in setup must not reuse members that failed to stop
+        }
+    }
+
+    /**
+     * Reads an integer parameter, e.g. intParameter("contention.duration", 5) reads -Dbenchmark.contention.duration
+     */
+    protected static int intParameter(String name, int defaultValue) {
+        String value = System.getProperty("benchmark." + name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Reads a comma separated list of integers, e.g. -Dbenchmark.contention.threads=1,2,4
+     */
+    protected static int[] intParameters(String name, int... defaultValues) {
+        String value = System.getProperty("benchmark." + name);
+        if (value == null) {
+            return defaultValues;
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,182 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.collection.IList;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.Sources;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.NetworkTrafficProbe;
+import com.sanvito_damiano.hazelcast.tests.ExecutorServiceTest.LocalDataProcessingTask;
+import com.sanvito_damiano.hazelcast.tests.ExecutorServiceTest.SumTask;
+
+/**
+ * Computes the sum of the values of a map through every path Hazelcast offers, from the
+ * ExecutorServiceTest tasks to aggregators, entry processors, SQL and Jet, reporting the
+ * latency of each path and the loopback traffic it causes
+ */
+public class AggregationBenchmark extends AbstractBenchmark {
+
+    private enum Strategy { SUM_TASK, LOCAL_DATA_PROCESSING_TASK, AGGREGATOR, ENTRY_PROCESSOR, SQL, JET }
+
+    // The ExecutorServiceTest tasks read this map
+    private static final String MAP_NAME = "map";
+    private static final String JET_RESULT_LIST = "aggregation-jet-result";
+
+    private static final int[] dataSizes = intParameters("aggregation.sizes", 10_000, 100_000, 1_000_000);
+    private static final int repetitions = intParameter("aggregation.repetitions", 5);
+    // SumTask fetches every value with a get() and prints a line per key, so it is only run on smaller maps
+    private static final int sumTaskMaxSize = intParameter("aggregation.sumtask.max", 100_000);
+
+    private IMap<String, Integer> map;
+    private IExecutorService executor;
+
+    public AggregationBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap(MAP_NAME);
+        executor = hazelcastInstance.getExecutorService("aggregation-executor");
+        hazelcastInstance.getSql().execute("CREATE OR REPLACE MAPPING \"" + MAP_NAME + "\" TYPE IMap "
+                + "OPTIONS ('keyFormat'='varchar', 'valueFormat'='int')").close();
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        executor.shutdownNow();
+        executor = null;
+        map.destroy();
+        map = null;
+        hazelcastInstance.getList(JET_RESULT_LIST).destroy();
+        super.cleanup();
+    }
+
+    public void testSumStrategies() throws Exception {
+        for (int dataSize : dataSizes) {
+            System.out.println("\n=== Aggregation Benchmark with " + dataSize + " entries ===");
+            reset();
+
+            // Values stay below 1000 so that the Integer results of the tasks cannot overflow
+            long expected = 0;
+            try (BulkLoader<String, Integer> loader = new BulkLoader<>(hazelcastInstance, map)) {
+                for (int i = 1; i <= dataSize; i++) {
+                    loader.add("key-" + i, i % 1000);
+                    expected += i % 1000;
+                }
+            }
+
+            for (Strategy strategy : Strategy.values()) {
+                if (strategy == Strategy.SUM_TASK && dataSize > sumTaskMaxSize) {
+                    recordTestResult("Aggregation-" + strategy + "-" + dataSize, true,
+                                     "Skipped: SumTask is limited to " + sumTaskMaxSize + " entries (-Dbenchmark.aggregation.sumtask.max)");
+                    continue;
+                }
+                runStrategy(strategy, dataSize, expected);
+            }
+        }
+    }
+
+    private void runStrategy(Strategy strategy, int dataSize, long expected) throws Exception {
+        String operation = "Aggregation-" + strategy + "-" + dataSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+
+        boolean correct = true;
+        long result = 0;
+        long bytesBefore = NetworkTrafficProbe.readLoopbackBytes();
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            result = sum(strategy);
+            recorder.recordSince(start);
+            correct &= result == expected;
+        }
+        long bytesAfter = NetworkTrafficProbe.readLoopbackBytes();
+        String traffic = bytesBefore < 0 || bytesAfter < 0 ? "n/a"
+                : NetworkTrafficProbe.formatBytes((bytesAfter - bytesBefore) / repetitions);
+
+        String message = String.format(
+                "%s over %d entries: p50=%.2fms, p99=%.2fms, max=%.2fms, loopback traffic per run %s, sum %d (expected %d)",
+                strategy, dataSize,
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                traffic, result, expected);
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, correct, message);
+    }
+
+    private long sum(Strategy strategy) throws Exception {
+        switch (strategy) {
+            case SUM_TASK:
+                return executor.submit(new SumTask()).get();
+            case LOCAL_DATA_PROCESSING_TASK: {
+                long total = 0;
+                for (Future<Integer> partial : executor.submitToAllMembers(new LocalDataProcessingTask()).values()) {
+                    total += partial.get();
+                }
+                return total;
+            }
+            case AGGREGATOR:
+                return map.aggregate(Aggregators.integerSum());
+            case ENTRY_PROCESSOR: {
+                long total = 0;
+                for (Integer value : map.executeOnEntries(new ValueReader()).values()) {
+                    total += value;
+                }
+                return total;
+            }
+            case SQL:
+                try (SqlResult result = hazelcastInstance.getSql().execute("SELECT SUM(this) FROM \"" + MAP_NAME + "\"")) {
+                    return result.iterator().next().<Long>getObject(0);
+                }
+            case JET: {
+                Pipeline pipeline = Pipeline.create();
+                pipeline.readFrom(Sources.<String, Integer>map(MAP_NAME))
+                        .aggregate(AggregateOperations.summingLong(entry -> entry.getValue()))
+                        .writeTo(Sinks.list(JET_RESULT_LIST));
+                hazelcastInstance.getJet().newJob(pipeline).join();
+
+                IList<Long> results = hazelcastInstance.getList(JET_RESULT_LIST);
+                long total = results.get(0);
+                results.clear();
+                return total;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Returns the value of every entry without modifying it, so no backups are involved
+     */
+    static class ValueReader implements EntryProcessor<String, Integer, Integer>, ReadOnly {
+        @Override
+        public Integer process(Map.Entry<String, Integer> entry) {
+            return entry.getValue();
+        }
+
+        @Override
+        public EntryProcessor<String, Integer, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+}
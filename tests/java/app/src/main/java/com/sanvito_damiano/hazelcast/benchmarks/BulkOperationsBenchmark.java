@@ -0,0 +1,221 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.PartitionGrouping;
+
+/**
+ * Large-batch version of MapTest.testBulkOperations: compares a plain putAll/getAll with
+ * calls grouped by partition owner, for batch sizes from 100 up to 1M entries, and reports
+ * throughput together with the peak heap of the JVM running the client (the benchmark members
+ * live in the same JVM, so compare the figures between batch sizes rather than in absolute terms)
+ */
+public class BulkOperationsBenchmark extends AbstractBenchmark {
+
+    private enum Mode { NAIVE, GROUPED }
+
+    private static final int[] batchSizes = intParameters("bulk.batch", 100, 1_000, 10_000, 100_000, 1_000_000);
+    private static final int entryCount = intParameter("bulk.entries", 200_000);
+    private static final int valueSize = intParameter("bulk.value.size", 100);
+
+    private IMap<Integer, byte[]> map;
+    private PartitionService partitionService;
+
+    public BulkOperationsBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap("bulk-map");
+        partitionService = hazelcastInstance.getPartitionService();
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        map.destroy();
+        map = null;
+        partitionService = null;
+        super.cleanup();
+    }
+
+    public void testPutAllBatchSizes() {
+        System.out.println("\n=== Bulk Operations Benchmark: putAll ===");
+        for (int batchSize : batchSizes) {
+            for (Mode mode : Mode.values()) {
+                reset();
+                runPutAll(mode, batchSize);
+            }
+        }
+    }
+
+    public void testGetAllBatchSizes() {
+        System.out.println("\n=== Bulk Operations Benchmark: getAll ===");
+        for (int batchSize : batchSizes) {
+            reset();
+            // The data is loaded once per batch size, both modes read the same entries
+            loadEntries(totalEntries(batchSize), batchSize);
+            for (Mode mode : Mode.values()) {
+                runGetAll(mode, batchSize);
+            }
+        }
+    }
+
+    private void runPutAll(Mode mode, int batchSize) {
+        String operation = "BulkOps-PutAll-" + mode + "-" + batchSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        int total = totalEntries(batchSize);
+
+        resetPeakHeap();
+        // Only the calls are timed, building the batches is left out of the throughput
+        long elapsed = 0;
+        for (int from = 0; from < total; from += batchSize) {
+            Map<Integer, byte[]> batch = createBatch(from, Math.min(batchSize, total - from));
+            long batchStart = System.nanoTime();
+            if (mode == Mode.NAIVE) {
+                map.putAll(batch);
+            } else {
+                putAllGrouped(batch);
+            }
+            long batchElapsed = System.nanoTime() - batchStart;
+            recorder.record(batchElapsed);
+            elapsed += batchElapsed;
+        }
+
+        boolean success = map.size() == total;
+        report(operation, "putAll", mode, batchSize, total, elapsed, recorder, success,
+               "map size: " + map.size());
+    }
+
+    private void runGetAll(Mode mode, int batchSize) {
+        String operation = "BulkOps-GetAll-" + mode + "-" + batchSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        int total = totalEntries(batchSize);
+        long found = 0;
+
+        resetPeakHeap();
+        // Only the calls are timed, building the key sets is left out of the throughput
+        long elapsed = 0;
+        for (int from = 0; from < total; from += batchSize) {
+            Set<Integer> keys = new HashSet<>();
+            for (int i = from; i < Math.min(from + batchSize, total); i++) {
+                keys.add(i);
+            }
+            long batchStart = System.nanoTime();
+            found += mode == Mode.NAIVE ? map.getAll(keys).size() : getAllGrouped(keys);
+            long batchElapsed = System.nanoTime() - batchStart;
+            recorder.record(batchElapsed);
+            elapsed += batchElapsed;
+        }
+
+        boolean success = found == total;
+        report(operation, "getAll", mode, batchSize, total, elapsed, recorder, success,
+               "entries read: " + found);
+    }
+
+    /**
+     * Sends one putAll per owner member, all groups in flight at the same time
+     */
+    private void putAllGrouped(Map<Integer, byte[]> batch) {
+        Map<UUID, Map<Integer, byte[]>> groups = PartitionGrouping.entriesByOwner(partitionService, batch);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        for (Map<Integer, byte[]> group : groups.values()) {
+            futures.add(map.putAllAsync(group).toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Issues one getAll per owner member, returns the number of entries found
+     */
+    private int getAllGrouped(Set<Integer> keys) {
+        int found = 0;
+        for (Set<Integer> group : PartitionGrouping.keysByOwner(partitionService, keys).values()) {
+            found += map.getAll(group).size();
+        }
+        return found;
+    }
+
+    private void loadEntries(int total, int batchSize) {
+        for (int from = 0; from < total; from += batchSize) {
+            map.putAll(createBatch(from, Math.min(batchSize, total - from)));
+        }
+    }
+
+    private Map<Integer, byte[]> createBatch(int from, int size) {
+        Map<Integer, byte[]> batch = new HashMap<>(size * 2);
+        for (int i = from; i < from + size; i++) {
+            batch.put(i, new byte[valueSize]);
+        }
+        return batch;
+    }
+
+    /**
+     * Every batch size moves at least one full batch
+     */
+    private static int totalEntries(int batchSize) {
+        return Math.max(entryCount, batchSize);
+    }
+
+    private void report(String operation, String call, Mode mode, int batchSize, int total, long elapsedNanos,
+                        LatencyRecorder recorder, boolean success, String check) {
+        String message = String.format(
+                "%s %s with batches of %d (%d entries of %d bytes): %.0f entries/s, " +
+                "batch p50=%.2fms, p99=%.2fms, max=%.2fms, peak heap %.1f MB, %s",
+                call, mode, batchSize, total, valueSize,
+                total / (elapsedNanos / 1_000_000_000.0),
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                peakHeapBytes() / (1024.0 * 1024.0),
+                check);
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, success, message);
+    }
+
+    /**
+     * Collects garbage and restarts the peak tracking of the heap pools
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sum of the peak usage of the heap pools since the last reset
+     */
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,133 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.LoadGenerator;
+import com.sanvito_damiano.hazelcast.LoadGenerator.ThreadMode;
+
+/**
+ * Measures how a single client scales with the number of concurrent in-flight operations,
+ * comparing one platform thread per caller with one virtual thread per caller
+ */
+public class ClientScalingBenchmark extends AbstractBenchmark {
+
+    private static final int[] concurrencyLevels = intParameters("scaling.concurrency", 1, 10, 100, 1000, 5000);
+    private static final int durationSeconds = intParameter("scaling.duration", 5);
+    private static final int keySpace = intParameter("scaling.keys", 10_000);
+
+    private IMap<Integer, String> map;
+    private IQueue<String> queue;
+
+    public ClientScalingBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap("scaling-map");
+        queue = hazelcastInstance.getQueue("scaling-queue");
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+        queue.clear();
+        Map<Integer, String> entries = new HashMap<>();
+        for (int i = 0; i < keySpace; i++) {
+            entries.put(i, "value-" + i);
+        }
+        map.putAll(entries);
+    }
+
+    @Override
+    public void cleanup() {
+        map.destroy();
+        queue.destroy();
+        map = null;
+        queue = null;
+        super.cleanup();
+    }
+
+    public void testMapScalingPlatformThreads() throws Exception {
+        runAll("Map", ThreadMode.PLATFORM, this::mapOperation);
+    }
+
+    public void testMapScalingVirtualThreads() throws Exception {
+        runAll("Map", ThreadMode.VIRTUAL, this::mapOperation);
+    }
+
+    public void testQueueScalingPlatformThreads() throws Exception {
+        runAll("Queue", ThreadMode.PLATFORM, this::queueOperation);
+    }
+
+    public void testQueueScalingVirtualThreads() throws Exception {
+        runAll("Queue", ThreadMode.VIRTUAL, this::queueOperation);
+    }
+
+    /**
+     * 80% reads and 20% writes on random keys
+     */
+    private void mapOperation(int workerId, ThreadLocalRandom random) {
+        int key = random.nextInt(keySpace);
+        if (random.nextInt(10) < 8) {
+            map.get(key);
+        } else {
+            map.set(key, "value-" + key + "-" + workerId);
+        }
+    }
+
+    /**
+     * Each worker offers an item and then polls one, keeping the queue short
+     */
+    private void queueOperation(int workerId, ThreadLocalRandom random) {
+        queue.offer("item-" + workerId);
+        queue.poll();
+    }
+
+    private void runAll(String structure, ThreadMode threadMode, LoadGenerator.Operation operation) throws Exception {
+        System.out.println("\n=== Client Scaling Benchmark: " + structure + " with " + threadMode + " threads ===");
+
+        if (threadMode == ThreadMode.VIRTUAL && !LoadGenerator.isVirtualThreadSupported()) {
+            System.out.println("Virtual threads are not available on Java " + Runtime.version().feature() + ", skipping.");
+            recordSkippedTest("ClientScaling-" + structure + "-" + threadMode,
+                              "Virtual threads require Java 21 or later, running on " + Runtime.version());
+            return;
+        }
+
+        for (int concurrency : concurrencyLevels) {
+            reset();
+            runLevel(structure, threadMode, concurrency, operation);
+        }
+    }
+
+    private void runLevel(String structure, ThreadMode threadMode, int concurrency, LoadGenerator.Operation operation) throws Exception {
+        String operationName = "ClientScaling-" + structure + "-" + threadMode + "-" + concurrency;
+        LatencyRecorder recorder = latencyRecorder(operationName);
+
+        LoadGenerator generator = new LoadGenerator(threadMode, concurrency);
+        LoadGenerator.Result result = generator.run(durationSeconds, TimeUnit.SECONDS, recorder, operation);
+
+        boolean success = result.getOperations() > 0 && result.getErrors() == 0;
+        String message = String.format(
+                "%s with %d concurrent %s callers over %ds: %.0f ops/s, %d operations, %d errors, " +
+                "p50=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus%s",
+                structure, concurrency, threadMode, durationSeconds, result.getThroughput(),
+                result.getOperations(), result.getErrors(),
+                recorder.getValueAtPercentile(50) / 1000.0,
+                recorder.getValueAtPercentile(99) / 1000.0,
+                recorder.getValueAtPercentile(99.9) / 1000.0,
+                recorder.getMax() / 1000.0,
+                result.getFirstError() == null ? "" : ", first error: " + result.getFirstError());
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operationName, success, message);
+    }
+}
@@ -0,0 +1,306 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.PartitioningAttributeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionAware;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.NetworkTrafficProbe;
+import com.sanvito_damiano.hazelcast.benchmarks.QueryIndexBenchmark.IndexedPerson;
+import com.sanvito_damiano.hazelcast.benchmarks.SqlBenchmark.SqlDepartment;
+
+/**
+ * Runs the JOIN and GROUP BY statements of QueryTest (testJoinSqlQueries, testAggregationSqlQueries) over
+ * larger maps where persons are either spread by hashing their whole key or co-located with their
+ * department, through a PartitionAware key or a PartitioningAttributeConfig on departmentId, and compares
+ * latency and loopback traffic per query
+ */
+public class ColocatedJoinBenchmark extends AbstractBenchmark {
+
+    private enum Partitioning { DEFAULT, PARTITION_AWARE, PARTITIONING_ATTRIBUTE }
+
+    private enum Query {
+        JOIN("SELECT p.name, d.name AS department_name FROM %s p JOIN %s d ON p.departmentId = d.id"),
+        JOIN_WHERE("SELECT p.name, d.name AS department_name FROM %s p JOIN %s d ON p.departmentId = d.id "
+                + "WHERE d.location = 'Building A'"),
+        GROUP_BY("SELECT departmentId, COUNT(*) AS employee_count, AVG(age) AS avg_age FROM %s GROUP BY departmentId"),
+        HAVING("SELECT departmentId, COUNT(*) AS employee_count FROM %s GROUP BY departmentId HAVING COUNT(*) > 1");
+
+        private final String template;
+
+        Query(String template) {
+            this.template = template;
+        }
+
+        String sql(Partitioning partitioning) {
+            return String.format(template, mappingName("persons", partitioning), mappingName("departments", partitioning));
+        }
+    }
+
+    private static final int[] dataSizes = intParameters("colocation.sizes", 100_000, 1_000_000);
+    private static final int departmentCount = intParameter("colocation.departments", 1000);
+    private static final int repetitions = intParameter("colocation.repetitions", 10);
+
+    public ColocatedJoinBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected int getMemberCount() {
+        return 3;
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        // Persons are placed by the departmentId of their key, departments by the id of theirs, so both hash the same value
+        config.getMapConfig(mapName("persons", Partitioning.PARTITIONING_ATTRIBUTE))
+              .setPartitioningAttributeConfigs(List.of(new PartitioningAttributeConfig("departmentId")));
+        config.getMapConfig(mapName("departments", Partitioning.PARTITIONING_ATTRIBUTE))
+              .setPartitioningAttributeConfigs(List.of(new PartitioningAttributeConfig("id")));
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        for (Partitioning partitioning : Partitioning.values()) {
+            hazelcastInstance.getSql().execute(personsMapping(partitioning)).close();
+            hazelcastInstance.getSql().execute(departmentsMapping(partitioning)).close();
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (Partitioning partitioning : Partitioning.values()) {
+            hazelcastInstance.getMap(mapName("persons", partitioning)).clear();
+            hazelcastInstance.getMap(mapName("departments", partitioning)).clear();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        for (Partitioning partitioning : Partitioning.values()) {
+            hazelcastInstance.getMap(mapName("persons", partitioning)).destroy();
+            hazelcastInstance.getMap(mapName("departments", partitioning)).destroy();
+        }
+        super.cleanup();
+    }
+
+    public void testColocatedQueries() {
+        for (int dataSize : dataSizes) {
+            System.out.println("\n=== Colocated Join Benchmark with " + dataSize + " persons in " + departmentCount + " departments ===");
+            Map<Query, Long> defaultRows = new EnumMap<>(Query.class);
+            Map<Query, Long> defaultP50 = new EnumMap<>(Query.class);
+            for (Partitioning partitioning : Partitioning.values()) {
+                reset();
+                load(partitioning, dataSize);
+                for (Query query : Query.values()) {
+                    runQuery(partitioning, query, dataSize, defaultRows, defaultP50);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads through a member: map-level attribute partitioning is applied by members, not by clients
+     */
+    private void load(Partitioning partitioning, int dataSize) {
+        HazelcastInstance member = members.get(0);
+        IMap<Object, SqlDepartment> departments = member.getMap(mapName("departments", partitioning));
+        try (BulkLoader<Object, SqlDepartment> loader = new BulkLoader<>(member, departments)) {
+            for (int i = 0; i < departmentCount; i++) {
+                String id = "D" + i;
+                loader.add(partitioning == Partitioning.PARTITIONING_ATTRIBUTE ? new DepartmentKey(id) : id,
+                           new SqlDepartment(id, "Department" + i, "Building " + (char) ('A' + i % 4)));
+            }
+        }
+        IMap<Object, IndexedPerson> persons = member.getMap(mapName("persons", partitioning));
+        try (BulkLoader<Object, IndexedPerson> loader = new BulkLoader<>(member, persons)) {
+            for (int i = 0; i < dataSize; i++) {
+                String departmentId = "D" + (i % departmentCount);
+                Object key;
+                switch (partitioning) {
+                    case PARTITION_AWARE:
+                        key = new DepartmentAwarePersonKey(i, departmentId);
+                        break;
+                    case PARTITIONING_ATTRIBUTE:
+                        key = new PersonKey(i, departmentId);
+                        break;
+                    default:
+                        key = i;
+                }
+                loader.add(key, new IndexedPerson("Person" + i, 18 + i % 60, i % 2 == 0, departmentId));
+            }
+        }
+    }
+
+    private void runQuery(Partitioning partitioning, Query query, int dataSize,
+                          Map<Query, Long> defaultRows, Map<Query, Long> defaultP50) {
+        String operation = "ColocatedJoin-" + query + "-" + partitioning + "-" + dataSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        String sql = query.sql(partitioning);
+
+        // The first run plans the statement, it is not measured
+        long rows = countRows(sql);
+        boolean consistent = true;
+        long bytesBefore = NetworkTrafficProbe.readLoopbackBytes();
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            consistent &= countRows(sql) == rows;
+            recorder.recordSince(start);
+        }
+        long bytesAfter = NetworkTrafficProbe.readLoopbackBytes();
+        String traffic = bytesBefore < 0 || bytesAfter < 0 ? "n/a"
+                : NetworkTrafficProbe.formatBytes((bytesAfter - bytesBefore) / repetitions);
+
+        long p50 = recorder.getValueAtPercentile(50);
+        defaultRows.putIfAbsent(query, rows);
+        defaultP50.putIfAbsent(query, p50);
+        boolean correct = consistent && rows == defaultRows.get(query);
+
+        String message = String.format(
+                "%s with %s partitioning over %d persons: p50=%.2fms, p99=%.2fms, max=%.2fms, %.2fx the default p50, "
+                        + "loopback traffic per query %s, %d rows (same as default: %b)",
+                query, partitioning, dataSize,
+                p50 / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                defaultP50.get(query) == 0 ? 0.0 : (double) p50 / defaultP50.get(query),
+                traffic, rows, rows == defaultRows.get(query));
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, correct, message);
+    }
+
+    private long countRows(String sql) {
+        long rows = 0;
+        try (SqlResult result = hazelcastInstance.getSql().execute(sql)) {
+            Iterator<SqlRow> iterator = result.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String mapName(String name, Partitioning partitioning) {
+        return "colocation-" + name + "-" + partitioning.name().toLowerCase().replace('_', '-');
+    }
+
+    private static String mappingName(String name, Partitioning partitioning) {
+        return name + "_" + partitioning.name().toLowerCase();
+    }
+
+    /**
+     * Only value columns are mapped, so the same statements run whatever the key class
+     */
+    private static String personsMapping(Partitioning partitioning) {
+        return "CREATE OR REPLACE MAPPING " + mappingName("persons", partitioning)
+                + " EXTERNAL NAME \"" + mapName("persons", partitioning) + "\" ("
+                + "name VARCHAR, age INT, active BOOLEAN, departmentId VARCHAR) "
+                + "TYPE IMap OPTIONS ("
+                + keyFormat(partitioning == Partitioning.PARTITION_AWARE ? DepartmentAwarePersonKey.class
+                        : partitioning == Partitioning.PARTITIONING_ATTRIBUTE ? PersonKey.class : null, "int")
+                + "'valueFormat'='java', 'valueJavaClass'='" + IndexedPerson.class.getName() + "')";
+    }
+
+    private static String departmentsMapping(Partitioning partitioning) {
+        return "CREATE OR REPLACE MAPPING " + mappingName("departments", partitioning)
+                + " EXTERNAL NAME \"" + mapName("departments", partitioning) + "\" ("
+                + "id VARCHAR, name VARCHAR, location VARCHAR) "
+                + "TYPE IMap OPTIONS ("
+                + keyFormat(partitioning == Partitioning.PARTITIONING_ATTRIBUTE ? DepartmentKey.class : null, "varchar")
+                + "'valueFormat'='java', 'valueJavaClass'='" + SqlDepartment.class.getName() + "')";
+    }
+
+    private static String keyFormat(Class<?> keyClass, String primitiveFormat) {
+        return keyClass == null
+                ? "'keyFormat'='" + primitiveFormat + "', "
+                : "'keyFormat'='java', 'keyJavaClass'='" + keyClass.getName() + "', ";
+    }
+
+    /**
+     * Person key carrying the department, used as partitioning attribute
+     */
+    public static class PersonKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int id;
+        private String departmentId;
+
+        public PersonKey(int id, String departmentId) {
+            this.id = id;
+            this.departmentId = departmentId;
+        }
+
+        public int getId() { return id; }
+        public String getDepartmentId() { return departmentId; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            PersonKey that = (PersonKey) obj;
+            return id == that.id && departmentId.equals(that.departmentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, departmentId);
+        }
+    }
+
+    /**
+     * Person key placed in the partition of its department key
+     */
+    public static class DepartmentAwarePersonKey extends PersonKey implements PartitionAware<String> {
+        private static final long serialVersionUID = 1L;
+
+        public DepartmentAwarePersonKey(int id, String departmentId) {
+            super(id, departmentId);
+        }
+
+        @Override
+        public String getPartitionKey() {
+            return getDepartmentId();
+        }
+    }
+
+    /**
+     * Department key exposing the id as partitioning attribute
+     */
+    public static class DepartmentKey implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+
+        public DepartmentKey(String id) {
+            this.id = id;
+        }
+
+        public String getId() { return id; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            return id.equals(((DepartmentKey) obj).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.LoadGenerator;
+
+/**
+ * Sustained-load version of MapTest.testConcurrentOperations: compares the ways of
+ * incrementing a shared counter under 1..N threads and 1..K hot keys over a fixed duration
+ */
+public class ContentionBenchmark extends AbstractBenchmark {
+
+    private enum Strategy { OPTIMISTIC_REPLACE, PESSIMISTIC_LOCK, ENTRY_PROCESSOR, ATOMIC_LONG }
+
+    private static final int[] threadCounts = intParameters("contention.threads", 1, 2, 4, 8, 16);
+    private static final int[] hotKeyCounts = intParameters("contention.keys", 1, 4, 16);
+    private static final int durationSeconds = intParameter("contention.duration", 5);
+
+    private IMap<String, Long> counterMap;
+    private String[] keyNames;
+
+    public ContentionBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        counterMap = hazelcastInstance.getMap("contention-map");
+        int maxKeys = 0;
+        for (int keys : hotKeyCounts) {
+            maxKeys = Math.max(maxKeys, keys);
+        }
+        keyNames = new String[maxKeys];
+        for (int i = 0; i < maxKeys; i++) {
+            keyNames[i] = "counter-" + i;
+        }
+    }
+
+    @Override
+    public void reset() {
+        counterMap.clear();
+        for (String key : keyNames) {
+            counterMap.set(key, 0L);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        counterMap.destroy();
+        counterMap = null;
+        super.cleanup();
+    }
+
+    public void testOptimisticReplaceContention() throws Exception {
+        runAll(Strategy.OPTIMISTIC_REPLACE);
+    }
+
+    public void testPessimisticLockContention() throws Exception {
+        runAll(Strategy.PESSIMISTIC_LOCK);
+    }
+
+    public void testEntryProcessorContention() throws Exception {
+        runAll(Strategy.ENTRY_PROCESSOR);
+    }
+
+    public void testAtomicLongContention() throws Exception {
+        try {
+            hazelcastInstance.getCPSubsystem().getAtomicLong("counter-probe").get();
+        } catch (UnsupportedOperationException e) {
+            System.out.println("IAtomicLong is not supported in the Open Source Hazelcast Version, skipping.");
+            recordTestResult("Contention-ATOMIC_LONG", true, "Skipped: IAtomicLong is not supported in the Open Source Hazelcast Version.");
+            return;
+        }
+        runAll(Strategy.ATOMIC_LONG);
+    }
+
+    private void runAll(Strategy strategy) throws Exception {
+        System.out.println("\n=== Contention Benchmark: " + strategy + " ===");
+        for (int keys : hotKeyCounts) {
+            for (int threads : threadCounts) {
+                reset();
+                runStrategy(strategy, threads, keys);
+            }
+        }
+    }
+
+    /**
+     * Runs the strategy with the given threads and hot keys for the configured duration
+     */
+    private void runStrategy(Strategy strategy, int threads, int keys) throws Exception {
+        String operation = "Contention-" + strategy + "-" + threads + "-threads-" + keys + "-keys";
+        LatencyRecorder recorder = latencyRecorder(operation);
+        LongAdder retries = new LongAdder();
+
+        LoadGenerator generator = new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, threads);
+        LoadGenerator.Result result = generator.run(durationSeconds, TimeUnit.SECONDS, recorder,
+                (workerId, random) -> retries.add(increment(strategy, keyNames[random.nextInt(keys)])));
+
+        if (result.getFirstError() != null) {
+            recordTestResult(operation, false, "Benchmark failed: " + result.getFirstError().getMessage());
+            return;
+        }
+
+        long totalOperations = result.getOperations();
+        long totalRetries = retries.sum();
+        long counted = countIncrements(strategy, keys);
+        boolean consistent = counted == totalOperations;
+
+        String message = String.format(
+                "%s with %d threads on %d hot keys over %ds: %.0f ops/s, %d operations, %d retries (%.3f per op), " +
+                "p50=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus, counters consistent: %b (%d counted)",
+                strategy, threads, keys, durationSeconds, result.getThroughput(), totalOperations, totalRetries,
+                totalOperations == 0 ? 0.0 : (double) totalRetries / totalOperations,
+                recorder.getValueAtPercentile(50) / 1000.0,
+                recorder.getValueAtPercentile(99) / 1000.0,
+                recorder.getValueAtPercentile(99.9) / 1000.0,
+                recorder.getMax() / 1000.0,
+                consistent, counted);
+
+        System.out.println(message);
+        recordTestResult(operation, consistent, message);
+    }
+
+    /**
+     * Increments the counter stored under the key, returns the number of failed attempts
+     */
+    private int increment(Strategy strategy, String key) {
+        switch (strategy) {
+            case OPTIMISTIC_REPLACE: {
+                int failedAttempts = 0;
+                while (true) {
+                    Long current = counterMap.get(key);
+                    if (counterMap.replace(key, current, current + 1)) {
+                        return failedAttempts;
+                    }
+                    failedAttempts++;
+                }
+            }
+            case PESSIMISTIC_LOCK: {
+                counterMap.lock(key);
+                try {
+                    counterMap.set(key, counterMap.get(key) + 1);
+                } finally {
+                    counterMap.unlock(key);
+                }
+                return 0;
+            }
+            case ENTRY_PROCESSOR: {
+                counterMap.executeOnKey(key, new IncrementProcessor());
+                return 0;
+            }
+            case ATOMIC_LONG: {
+                hazelcastInstance.getCPSubsystem().getAtomicLong(key).incrementAndGet();
+                return 0;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    /**
+     * Sums the counters of the first keys, used to check that no increment was lost
+     */
+    private long countIncrements(Strategy strategy, int keys) {
+        long total = 0;
+        for (int i = 0; i < keys; i++) {
+            if (strategy == Strategy.ATOMIC_LONG) {
+                IAtomicLong atomicLong = hazelcastInstance.getCPSubsystem().getAtomicLong(keyNames[i]);
+                total += atomicLong.getAndSet(0);
+            } else {
+                total += counterMap.get(keyNames[i]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Increments the counter on the partition owner, no retries needed
+     */
+    static class IncrementProcessor implements EntryProcessor<String, Long, Long> {
+        @Override
+        public Long process(Map.Entry<String, Long> entry) {
+            Long value = entry.getValue() + 1;
+            entry.setValue(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.PartitioningStrategyConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.partition.PartitioningStrategy;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.KeySkew;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.LoadGenerator;
+import com.sanvito_damiano.hazelcast.tests.CustomPartitionTest;
+import com.sanvito_damiano.hazelcast.tests.CustomPartitionTest.KeyScheme;
+import com.sanvito_damiano.hazelcast.tests.CustomPartitionTest.RegionBasedPartitioningStrategy;
+
+/**
+ * Workload version of CustomPartitionTest: the same region keys are placed with each KeyScheme and hit by
+ * a workload where one region receives a growing share of the operations. Grouping a region in a single
+ * partition keeps it on one partition thread, so the throughput lost against the uniform workload shows
+ * what co-location costs when a region gets hot
+ */
+public class HotRegionBenchmark extends AbstractBenchmark {
+
+    private static final String HOT_REGION = CustomPartitionTest.REGIONS[0];
+
+    private static final int keysPerRegion = intParameter("hotregion.keys", 10_000);
+    private static final int[] hotPercents = intParameters("hotregion.hot.percent", 50, 90, 100);
+    private static final int threads = intParameter("hotregion.threads", 16);
+    private static final int durationSeconds = intParameter("hotregion.duration", 5);
+
+    // Map-level strategies are not known to clients, this one serializes every key with the strategy
+    private HazelcastInstance strategyClient;
+
+    public HotRegionBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected int getMemberCount() {
+        return 3;
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        config.getMapConfig(mapName(KeyScheme.PARTITIONING_STRATEGY))
+              .setPartitioningStrategyConfig(new PartitioningStrategyConfig(new RegionBasedPartitioningStrategy()));
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        ClientConfig clientConfig = clusterProfile.createClientConfig("strategy-client");
+        clientConfig.setProperty(ClientProperty.PARTITIONING_STRATEGY_CLASS.getName(), RegionBasedPartitioningStrategy.class.getName());
+        strategyClient = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    @Override
+    public void reset() {
+        for (KeyScheme scheme : KeyScheme.values()) {
+            map(scheme).clear();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        for (KeyScheme scheme : KeyScheme.values()) {
+            map(scheme).destroy();
+        }
+        strategyClient.shutdown();
+        super.cleanup();
+    }
+
+    public void testHotRegionThroughput() throws Exception {
+        for (KeyScheme scheme : KeyScheme.values()) {
+            System.out.println("\n=== Hot Region Benchmark: " + scheme + " with " + keysPerRegion + " keys per region ===");
+            reset();
+            IMap<Object, String> map = map(scheme);
+            PartitionService partitionService = client(scheme).getPartitionService();
+            PartitioningStrategy<Object> strategy = scheme.strategy();
+
+            Object[][] keys = new Object[CustomPartitionTest.REGIONS.length][keysPerRegion];
+            int[][] partitionIds = new int[CustomPartitionTest.REGIONS.length][keysPerRegion];
+            try (BulkLoader<Object, String> loader = new BulkLoader<>(client(scheme), map)) {
+                for (int region = 0; region < keys.length; region++) {
+                    for (int i = 0; i < keysPerRegion; i++) {
+                        keys[region][i] = scheme.key(CustomPartitionTest.REGIONS[region], i);
+                        Object partitionKey = strategy == null ? keys[region][i] : strategy.getPartitionKey(keys[region][i]);
+                        partitionIds[region][i] = partitionService.getPartition(partitionKey).getPartitionId();
+                        loader.add(keys[region][i], "value-" + i);
+                    }
+                }
+            }
+
+            KeySkew skew = CustomPartitionTest.analyzeKeySkew(partitionService, scheme, keysPerRegion);
+            System.out.println("Data distribution: " + skew);
+            recordTestResult("HotRegion-" + scheme + "-Distribution", map.size() == keysPerRegion * keys.length,
+                             scheme + " data distribution: " + skew);
+
+            int partitionCount = partitionService.getPartitions().size();
+            double uniformThroughput = runWorkload(scheme, map, keys, partitionIds, partitionCount, 100 / keys.length, -1);
+            for (int hotPercent : hotPercents) {
+                runWorkload(scheme, map, keys, partitionIds, partitionCount, hotPercent, uniformThroughput);
+            }
+        }
+    }
+
+    /**
+     * Runs get/set operations where hotPercent of them target the hot region and the rest is spread over
+     * the other regions, returns the throughput. The first run of a scheme is the uniform baseline
+     */
+    private double runWorkload(KeyScheme scheme, IMap<Object, String> map, Object[][] keys, int[][] partitionIds,
+                               int partitionCount, int hotPercent, double uniformThroughput) throws Exception {
+        String operation = "HotRegion-" + scheme + "-" + hotPercent + "-percent-" + HOT_REGION;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        AtomicLongArray partitionAccesses = new AtomicLongArray(partitionCount);
+
+        LoadGenerator generator = new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, threads);
+        LoadGenerator.Result result = generator.run(durationSeconds, TimeUnit.SECONDS, recorder, (workerId, random) -> {
+            int region = random.nextInt(100) < hotPercent ? 0 : 1 + random.nextInt(keys.length - 1);
+            int i = random.nextInt(keysPerRegion);
+            partitionAccesses.incrementAndGet(partitionIds[region][i]);
+            if (random.nextBoolean()) {
+                map.get(keys[region][i]);
+            } else {
+                map.set(keys[region][i], "value-" + i);
+            }
+        });
+
+        if (result.getFirstError() != null) {
+            recordTestResult(operation, false, "Benchmark failed: " + result.getFirstError().getMessage());
+            return 0;
+        }
+
+        long[] accesses = new long[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            accesses[partitionId] = partitionAccesses.get(partitionId);
+        }
+        long totalAccesses = Arrays.stream(accesses).sum();
+        double hottestShare = totalAccesses == 0 ? 0 : 100.0 * Arrays.stream(accesses).max().getAsLong() / totalAccesses;
+
+        String message = String.format(
+                "%s with %d%% of %d threads on %s over %ds: %.0f ops/s%s, p50=%.2fms, p99=%.2fms, max=%.2fms, "
+                        + "hottest partition took %.1f%% of operations, access gini=%.3f",
+                scheme, hotPercent, threads, HOT_REGION, durationSeconds, result.getThroughput(),
+                uniformThroughput < 0 ? " (uniform baseline)"
+                        : String.format(" (%.1f%% throughput loss vs uniform)", 100 * (1 - result.getThroughput() / uniformThroughput)),
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                hottestShare, KeySkew.gini(accesses));
+
+        System.out.println(message);
+        recordTestResult(operation, result.getErrors() == 0, message);
+        return result.getThroughput();
+    }
+
+    private HazelcastInstance client(KeyScheme scheme) {
+        return scheme == KeyScheme.PARTITIONING_STRATEGY ? strategyClient : hazelcastInstance;
+    }
+
+    private IMap<Object, String> map(KeyScheme scheme) {
+        return client(scheme).getMap(mapName(scheme));
+    }
+
+    private static String mapName(KeyScheme scheme) {
+        return "hot-region-" + scheme.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,210 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.Sources;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.ClusterProfile;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.NetworkTrafficProbe;
+import com.sanvito_damiano.hazelcast.tests.PipelineTest;
+
+/**
+ * Keeps a target map in sync with a source map that receives a given percentage of updates per second,
+ * either by re-copying the whole map with a batch job (as PipelineTest.testSimplePipeline does) or with
+ * the event journal job of PipelineTest.incrementalReplicationPipeline. Reports the replication lag,
+ * i.e. the time between an update and its arrival in the target map, and the loopback traffic per mode
+ */
+public class IncrementalReplicationBenchmark extends AbstractBenchmark {
+
+    private enum SyncMode { FULL_COPY, INCREMENTAL }
+
+    private static final String SOURCE_MAP = ClusterProfile.JOURNAL_MAP_PREFIX + "replication-source";
+    private static final String TARGET_MAP = "replication-target";
+
+    private static final int dataSize = intParameter("replication.size", 100_000);
+    private static final int[] updatePercentages = intParameters("replication.update.percent", 1, 5, 10);
+    private static final int durationSeconds = intParameter("replication.duration", 10);
+    // Pause between two full copies, the next one starts as soon as this elapses
+    private static final int fullCopyIntervalMillis = intParameter("replication.full.interval.millis", 1000);
+    private static final int catchUpTimeoutSeconds = intParameter("replication.catchup.timeout", 60);
+
+    // Values are nanoseconds since this origin, so that the lag of an update can be read from its value
+    private static final long versionOrigin = System.nanoTime();
+
+    private IMap<Integer, String> source;
+    private IMap<Integer, String> target;
+
+    public IncrementalReplicationBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void reset() {
+        // Destroying the source map also drops its event journal, so every run starts from the initial load
+        if (source != null) {
+            source.destroy();
+            target.destroy();
+        }
+        source = hazelcastInstance.getMap(SOURCE_MAP);
+        target = hazelcastInstance.getMap(TARGET_MAP);
+        try (BulkLoader<Integer, String> loader = new BulkLoader<>(hazelcastInstance, source)) {
+            for (int i = 0; i < dataSize; i++) {
+                loader.add(i, "0");
+            }
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        if (source != null) {
+            source.destroy();
+            target.destroy();
+            source = null;
+            target = null;
+        }
+        super.cleanup();
+    }
+
+    public void testFullCopyVersusIncrementalSync() throws InterruptedException {
+        for (int updatePercent : updatePercentages) {
+            System.out.println("\n=== Incremental Replication Benchmark with " + dataSize + " entries, "
+                    + updatePercent + "% updated per second ===");
+            for (SyncMode mode : SyncMode.values()) {
+                reset();
+                runMode(mode, updatePercent);
+            }
+        }
+    }
+
+    private void runMode(SyncMode mode, int updatePercent) throws InterruptedException {
+        String operation = "Replication-" + mode + "-" + updatePercent + "pct";
+        LatencyRecorder lagRecorder = latencyRecorder(operation + "-Lag");
+
+        AtomicBoolean syncing = new AtomicBoolean(true);
+        AtomicLong fullCopies = new AtomicLong();
+        Job incrementalJob = null;
+        Thread copier = null;
+        if (mode == SyncMode.INCREMENTAL) {
+            // The journal still holds the initial load, so the job starts with a complete copy
+            incrementalJob = hazelcastInstance.getJet().newJob(PipelineTest.incrementalReplicationPipeline(SOURCE_MAP, TARGET_MAP));
+        } else {
+            copier = new Thread(() -> {
+                while (syncing.get()) {
+                    hazelcastInstance.getJet().newJob(fullCopyPipeline()).join();
+                    fullCopies.incrementAndGet();
+                    try {
+                        Thread.sleep(fullCopyIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "replication-full-copy");
+            copier.start();
+        }
+        boolean initialCopy = awaitSameContent(catchUpTimeoutSeconds);
+
+        // Only updates are measured, the entries added by the initial copy are not
+        UUID listenerId = target.addEntryListener((EntryUpdatedListener<Integer, String>) event -> {
+            if (!event.getValue().equals(event.getOldValue())) {
+                lagRecorder.record(System.nanoTime() - versionOrigin - Long.parseLong(event.getValue()));
+            }
+        }, true);
+
+        long bytesBefore = NetworkTrafficProbe.readLoopbackBytes();
+        long updates = writeUpdates(updatePercent);
+        long writesEnded = System.nanoTime();
+        boolean caughtUp = awaitSameContent(catchUpTimeoutSeconds);
+        long catchUpNanos = System.nanoTime() - writesEnded;
+        long bytesAfter = NetworkTrafficProbe.readLoopbackBytes();
+
+        target.removeEntryListener(listenerId);
+        syncing.set(false);
+        if (incrementalJob != null) {
+            incrementalJob.cancel();
+            try {
+                incrementalJob.join();
+            } catch (CancellationException e) {
+                // Expected, streaming jobs only end when cancelled
+            }
+        } else {
+            copier.interrupt();
+            copier.join();
+        }
+
+        boolean success = initialCopy && caughtUp;
+        String message = String.format(
+                "%s with %d%% updated per second: %d updates, lag p50=%.1fms, p99=%.1fms, max=%.1fms, caught up %.0fms after the last write, "
+                        + "loopback traffic %s%s",
+                mode, updatePercent, updates,
+                lagRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                lagRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                lagRecorder.getMax() / 1_000_000.0,
+                catchUpNanos / 1_000_000.0,
+                NetworkTrafficProbe.formatDelta(bytesBefore, bytesAfter),
+                mode == SyncMode.FULL_COPY ? ", " + fullCopies.get() + " full copies" : "");
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, success, message);
+    }
+
+    /**
+     * Updates random entries of the source map in 10 batches per second, returns the number of updates
+     */
+    private long writeUpdates(int updatePercent) throws InterruptedException {
+        int batchSize = Math.max(1, dataSize * updatePercent / 100 / 10);
+        long updates = 0;
+        long next = System.nanoTime();
+        long end = next + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (next < end) {
+            Map<Integer, String> batch = new HashMap<>();
+            String version = String.valueOf(System.nanoTime() - versionOrigin);
+            for (int i = 0; i < batchSize; i++) {
+                batch.put(ThreadLocalRandom.current().nextInt(dataSize), version);
+            }
+            source.putAll(batch);
+            updates += batch.size();
+
+            next += TimeUnit.MILLISECONDS.toNanos(100);
+            long sleepNanos = next - System.nanoTime();
+            if (sleepNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            }
+        }
+        return updates;
+    }
+
+    private static Pipeline fullCopyPipeline() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(Sources.<Integer, String>map(SOURCE_MAP))
+                .writeTo(Sinks.map(TARGET_MAP));
+        return pipeline;
+    }
+
+    /**
+     * Polls until the target map holds the same entries as the source map, returns false on timeout
+     */
+    private boolean awaitSameContent(int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            if (source.size() == target.size() && new HashMap<>(source).equals(new HashMap<>(target))) {
+                return true;
+            }
+            Thread.sleep(200);
+        }
+        return false;
+    }
+}
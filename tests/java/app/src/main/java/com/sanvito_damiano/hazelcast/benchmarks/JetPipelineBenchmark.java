@@ -0,0 +1,234 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.metrics.JobMetrics;
+import com.hazelcast.jet.core.metrics.Measurement;
+import com.hazelcast.jet.core.metrics.MetricNames;
+import com.hazelcast.jet.core.metrics.MetricTags;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.Sources;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+
+/**
+ * Runs the pipelines of PipelineTest (map-filter-map and groupingKey/summingDouble) over large maps,
+ * reporting job submit latency, completion time and items/s of every vertex for each local parallelism
+ * and Jet cooperative thread count. Sizes of 10M entries and more need a large heap (-Xmx)
+ */
+public class JetPipelineBenchmark extends AbstractBenchmark {
+
+    private enum PipelineKind { SIMPLE, AGGREGATION }
+
+    private static final String SOURCE_MAP = "jet-bench-source";
+    private static final String ORDERS_MAP = "jet-bench-orders";
+    private static final String RESULT_MAP = "jet-bench-result";
+    private static final String TOTALS_MAP = "jet-bench-totals";
+
+    private static final int[] dataSizes = intParameters("jet.sizes", 1_000_000, 10_000_000);
+    // -1 keeps the Jet default, i.e. the number of cooperative threads
+    private static final int[] localParallelisms = intParameters("jet.parallelism", -1, 1, 2, 4, 8);
+    // 0 keeps the Jet default, i.e. the number of available processors
+    private static final int[] cooperativeThreadCounts = intParameters("jet.cooperative.threads", 0);
+    private static final int users = intParameter("jet.users", 1000);
+    private static final int repetitions = intParameter("jet.repetitions", 3);
+
+    private int cooperativeThreads;
+    private IMap<Integer, String> sourceMap;
+    private IMap<Integer, Tuple2<Integer, Double>> orders;
+
+    public JetPipelineBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        if (cooperativeThreads > 0) {
+            config.getJetConfig().setCooperativeThreadCount(cooperativeThreads);
+        }
+    }
+
+    @Override
+    public void setup() {
+        cooperativeThreads = cooperativeThreadCounts[0];
+        super.setup();
+        sourceMap = hazelcastInstance.getMap(SOURCE_MAP);
+        orders = hazelcastInstance.getMap(ORDERS_MAP);
+    }
+
+    @Override
+    public void reset() {
+        sourceMap.clear();
+        orders.clear();
+        hazelcastInstance.getMap(RESULT_MAP).clear();
+        hazelcastInstance.getMap(TOTALS_MAP).clear();
+    }
+
+    @Override
+    public void cleanup() {
+        sourceMap.destroy();
+        orders.destroy();
+        hazelcastInstance.getMap(RESULT_MAP).destroy();
+        hazelcastInstance.getMap(TOTALS_MAP).destroy();
+        sourceMap = null;
+        orders = null;
+        super.cleanup();
+    }
+
+    public void testPipelineThroughput() {
+        for (int i = 0; i < cooperativeThreadCounts.length; i++) {
+            if (i > 0) {
+                // The cooperative thread count is a member setting, so the cluster is restarted
+                cleanup();
+                cooperativeThreads = cooperativeThreadCounts[i];
+                super.setup();
+                sourceMap = hazelcastInstance.getMap(SOURCE_MAP);
+                orders = hazelcastInstance.getMap(ORDERS_MAP);
+            }
+
+            for (int dataSize : dataSizes) {
+                System.out.println("\n=== Jet Pipeline Benchmark with " + dataSize + " entries, cooperative threads: "
+                        + (cooperativeThreads > 0 ? cooperativeThreads : "default") + " ===");
+                reset();
+                double expectedTotal = loadData(dataSize);
+
+                for (PipelineKind kind : PipelineKind.values()) {
+                    for (int parallelism : localParallelisms) {
+                        runPipeline(kind, dataSize, parallelism, expectedTotal);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the source and orders maps the same way PipelineTest does, returns the sum of the order values
+     */
+    private double loadData(int dataSize) {
+        double expectedTotal = 0;
+        try (BulkLoader<Integer, String> sourceLoader = new BulkLoader<>(hazelcastInstance, sourceMap);
+             BulkLoader<Integer, Tuple2<Integer, Double>> ordersLoader = new BulkLoader<>(hazelcastInstance, orders)) {
+            for (int i = 0; i < dataSize; i++) {
+                sourceLoader.add(i, "Item-" + i);
+                double value = 10 + (i * 3 % 90);
+                ordersLoader.add(i, Tuple2.tuple2(1 + (i % users), value));
+                expectedTotal += value;
+            }
+        }
+        return expectedTotal;
+    }
+
+    private void runPipeline(PipelineKind kind, int dataSize, int parallelism, double expectedTotal) {
+        String parallelismName = parallelism > 0 ? String.valueOf(parallelism) : "default";
+        String operation = "JetPipeline-" + kind + "-" + dataSize + "-lp-" + parallelismName
+                + (cooperativeThreads > 0 ? "-ct-" + cooperativeThreads : "");
+
+        JobConfig jobConfig = new JobConfig().setStoreMetricsAfterJobCompletion(true);
+        long submitNanos = 0;
+        long completionNanos = 0;
+        boolean correct = true;
+        Map<String, Long> itemsPerVertex = new LinkedHashMap<>();
+        for (int r = 0; r < repetitions; r++) {
+            hazelcastInstance.getMap(RESULT_MAP).clear();
+            hazelcastInstance.getMap(TOTALS_MAP).clear();
+
+            long start = System.nanoTime();
+            Job job = hazelcastInstance.getJet().newJob(createPipeline(kind, parallelism), jobConfig);
+            long submitted = System.nanoTime();
+            job.join();
+            long completed = System.nanoTime();
+
+            submitNanos += submitted - start;
+            completionNanos += completed - start;
+            itemsPerVertex = itemsPerVertex(job.getMetrics());
+            correct &= verify(kind, dataSize, expectedTotal);
+        }
+
+        double completionSeconds = completionNanos / (double) repetitions / 1_000_000_000.0;
+        StringBuilder vertices = new StringBuilder();
+        for (Map.Entry<String, Long> entry : itemsPerVertex.entrySet()) {
+            vertices.append(vertices.length() == 0 ? "" : ", ")
+                    .append(entry.getKey()).append('=')
+                    .append(String.format("%.0f items/s", entry.getValue() / completionSeconds));
+        }
+
+        String message = String.format(
+                "%s over %d entries with local parallelism %s: submit=%.2fms, completion=%.1fms, vertices [%s], results correct: %b",
+                kind, dataSize, parallelismName,
+                submitNanos / (double) repetitions / 1_000_000.0,
+                completionNanos / (double) repetitions / 1_000_000.0,
+                vertices.length() == 0 ? "metrics not available" : vertices,
+                correct);
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, correct, message);
+    }
+
+    private Pipeline createPipeline(PipelineKind kind, int parallelism) {
+        Pipeline pipeline = Pipeline.create();
+        switch (kind) {
+            case SIMPLE:
+                pipeline.readFrom(Sources.<Integer, String>map(SOURCE_MAP)).setLocalParallelism(parallelism)
+                        .filter(entry -> entry.getKey() % 2 == 0).setLocalParallelism(parallelism)
+                        .map(entry -> Map.entry(entry.getKey(), "Transformed-" + entry.getValue())).setLocalParallelism(parallelism)
+                        .writeTo(Sinks.map(RESULT_MAP)).setLocalParallelism(parallelism);
+                break;
+            case AGGREGATION:
+                pipeline.readFrom(Sources.<Integer, Tuple2<Integer, Double>>map(ORDERS_MAP)).setLocalParallelism(parallelism)
+                        .groupingKey(entry -> entry.getValue().f0())
+                        .aggregate(AggregateOperations.summingDouble(entry -> entry.getValue().f1())).setLocalParallelism(parallelism)
+                        .writeTo(Sinks.map(TOTALS_MAP)).setLocalParallelism(parallelism);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pipeline: " + kind);
+        }
+        return pipeline;
+    }
+
+    /**
+     * Items handled by every vertex of a completed job, summed over all members and processors.
+     * Sources only emit and sinks only receive, so the larger of the two counts is used
+     */
+    private static Map<String, Long> itemsPerVertex(JobMetrics metrics) {
+        Map<String, Long> received = sumPerVertex(metrics, MetricNames.RECEIVED_COUNT);
+        Map<String, Long> emitted = sumPerVertex(metrics, MetricNames.EMITTED_COUNT);
+        Map<String, Long> items = new LinkedHashMap<>(emitted);
+        received.forEach((vertex, count) -> items.merge(vertex, count, Math::max));
+        return items;
+    }
+
+    private static Map<String, Long> sumPerVertex(JobMetrics metrics, String metricName) {
+        Map<String, Long> sums = new LinkedHashMap<>();
+        for (Measurement measurement : metrics.get(metricName)) {
+            String vertex = measurement.tag(MetricTags.VERTEX);
+            // Items sent to the snapshot are not part of the data flow
+            if (vertex == null || "snapshot".equals(measurement.tag(MetricTags.ORDINAL))) {
+                continue;
+            }
+            sums.merge(vertex, measurement.value(), Long::sum);
+        }
+        return sums;
+    }
+
+    private boolean verify(PipelineKind kind, int dataSize, double expectedTotal) {
+        if (kind == PipelineKind.SIMPLE) {
+            IMap<Integer, String> resultMap = hazelcastInstance.getMap(RESULT_MAP);
+            return resultMap.size() == (dataSize + 1) / 2 && "Transformed-Item-0".equals(resultMap.get(0));
+        }
+
+        IMap<Integer, Double> totals = hazelcastInstance.getMap(TOTALS_MAP);
+        double total = 0;
+        for (Double value : totals.values()) {
+            total += value;
+        }
+        return totals.size() == Math.min(users, dataSize) && Math.abs(total - expectedTotal) < 0.001;
+    }
+}
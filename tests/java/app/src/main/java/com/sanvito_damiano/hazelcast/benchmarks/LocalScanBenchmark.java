@@ -0,0 +1,111 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.tests.ExecutorServiceTest.LocalDataProcessingTask;
+import com.sanvito_damiano.hazelcast.tests.ExecutorServiceTest.LocalScanTask;
+
+/**
+ * Compares the cost per entry of LocalDataProcessingTask, which looks up every local key
+ * with get(), and LocalScanTask, which iterates the entries of the owned partitions
+ */
+public class LocalScanBenchmark extends AbstractBenchmark {
+
+    private enum Task { LOCAL_DATA_PROCESSING_TASK, LOCAL_SCAN_TASK }
+
+    // The ExecutorServiceTest tasks read this map
+    private static final String MAP_NAME = "map";
+
+    private static final int[] dataSizes = intParameters("localscan.sizes", 10_000, 100_000, 1_000_000);
+    private static final int repetitions = intParameter("localscan.repetitions", 5);
+
+    private IMap<String, Integer> map;
+    private IExecutorService executor;
+
+    public LocalScanBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap(MAP_NAME);
+        executor = hazelcastInstance.getExecutorService("localscan-executor");
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        executor.shutdownNow();
+        executor = null;
+        map.destroy();
+        map = null;
+        super.cleanup();
+    }
+
+    public void testLocalProcessingCostPerEntry() throws Exception {
+        for (int dataSize : dataSizes) {
+            System.out.println("\n=== Local Scan Benchmark with " + dataSize + " entries ===");
+            reset();
+
+            // Values stay below 1000 so that the Integer results of the tasks cannot overflow
+            long expected = 0;
+            try (BulkLoader<String, Integer> loader = new BulkLoader<>(hazelcastInstance, map)) {
+                for (int i = 1; i <= dataSize; i++) {
+                    loader.add("key-" + i, i % 1000);
+                    expected += i % 1000;
+                }
+            }
+
+            for (Task task : Task.values()) {
+                runTask(task, dataSize, expected);
+            }
+        }
+    }
+
+    private void runTask(Task task, int dataSize, long expected) throws Exception {
+        String operation = "LocalScan-" + task + "-" + dataSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+
+        // One untimed run so that both tasks start with loaded classes and warm proxies
+        long result = sumOnAllMembers(task);
+        boolean correct = result == expected;
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            result = sumOnAllMembers(task);
+            recorder.recordSince(start);
+            correct &= result == expected;
+        }
+
+        String message = String.format(
+                "%s over %d entries: p50=%.2fms (%.1f ns/entry), p99=%.2fms, max=%.2fms, sum %d (expected %d)",
+                task, dataSize,
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                (double) recorder.getValueAtPercentile(50) / dataSize,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                result, expected);
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, correct, message);
+    }
+
+    private long sumOnAllMembers(Task task) throws Exception {
+        Callable<Integer> callable = task == Task.LOCAL_SCAN_TASK ? new LocalScanTask() : new LocalDataProcessingTask();
+        long total = 0;
+        for (Future<Integer> partial : executor.submitToAllMembers(callable).values()) {
+            total += partial.get();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.LoadGenerator;
+import com.sanvito_damiano.hazelcast.MigrationTracker;
+import com.sanvito_damiano.hazelcast.NetworkTrafficProbe;
+
+/**
+ * Measures the migrations behind the PartitionTest scenarios (adding a node, shutting one down gracefully
+ * and terminating one) for growing data sizes: how long they take, how many replicas and bytes move, and
+ * the latency of client operations issued while partitions are migrating compared with the ones issued
+ * outside of migrations. Sizes of 10M entries need a large heap (-Xmx)
+ */
+public class MigrationBenchmark extends AbstractBenchmark {
+
+    private enum Scenario { ADD_NODE, SHUTDOWN_NODE, TERMINATE_NODE }
+
+    private static final String MAP_NAME = "migration-map";
+
+    private static final int[] dataSizes = intParameters("migration.sizes", 10_000, 100_000, 1_000_000);
+    private static final int valueSize = intParameter("migration.value.size", 100);
+    private static final int clientThreads = intParameter("migration.client.threads", 8);
+    private static final int timeoutSeconds = intParameter("migration.timeout", 300);
+
+    private IMap<Integer, byte[]> map;
+
+    public MigrationBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap(MAP_NAME);
+    }
+
+    @Override
+    public void reset() {
+        map.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        map.destroy();
+        map = null;
+        super.cleanup();
+    }
+
+    public void testMigrationCost() throws Exception {
+        for (int dataSize : dataSizes) {
+            System.out.println("\n=== Migration Benchmark with " + dataSize + " entries of " + valueSize + " bytes ===");
+            reset();
+            try (BulkLoader<Integer, byte[]> loader = new BulkLoader<>(hazelcastInstance, map)) {
+                for (int i = 0; i < dataSize; i++) {
+                    loader.add(i, new byte[valueSize]);
+                }
+            }
+
+            for (Scenario scenario : Scenario.values()) {
+                runScenario(scenario, dataSize);
+            }
+        }
+    }
+
+    private void runScenario(Scenario scenario, int dataSize) throws Exception {
+        String operation = "Migration-" + scenario + "-" + dataSize;
+        HazelcastInstance extraMember = null;
+        if (scenario != Scenario.ADD_NODE) {
+            // The member that leaves joins first, untracked
+            extraMember = startMember();
+            ClusterAwaiter.awaitClusterSafe(members.get(0));
+        }
+        long bytesPerReplica = memoryCostPerPartitionReplica();
+
+        LatencyRecorder duringRecorder = latencyRecorder(operation + "-DuringMigration");
+        LatencyRecorder outsideRecorder = latencyRecorder(operation + "-OutsideMigration");
+        LatencyRecorder allRecorder = latencyRecorder(operation + "-ClientOps");
+        MigrationTracker tracker = MigrationTracker.attachToMaster(members.get(0));
+
+        // Client operations run for the whole scenario, each one is attributed to the phase it started in
+        LoadGenerator loadGenerator = new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, clientThreads);
+        ExecutorService loadRunner = Executors.newSingleThreadExecutor();
+        Future<LoadGenerator.Result> load = loadRunner.submit(() -> loadGenerator.run(timeoutSeconds * 2L, TimeUnit.SECONDS, allRecorder,
+                (workerId, random) -> {
+                    boolean migrating = tracker.isMigrating();
+                    long start = System.nanoTime();
+                    int key = random.nextInt(dataSize);
+                    if (random.nextBoolean()) {
+                        map.get(key);
+                    } else {
+                        map.set(key, new byte[valueSize]);
+                    }
+                    (migrating ? duringRecorder : outsideRecorder).recordSince(start);
+                }));
+
+        Thread.sleep(1000);
+        long bytesBefore = NetworkTrafficProbe.readLoopbackBytes();
+        long changeStart = System.nanoTime();
+        switch (scenario) {
+            case ADD_NODE:
+                extraMember = startMember();
+                break;
+            case SHUTDOWN_NODE:
+                members.remove(extraMember);
+                extraMember.shutdown();
+                break;
+            case TERMINATE_NODE:
+                members.remove(extraMember);
+                extraMember.getLifecycleService().terminate();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+        boolean completed = tracker.awaitCompletion(timeoutSeconds, TimeUnit.SECONDS);
+        long changeNanos = System.nanoTime() - changeStart;
+        long bytesAfter = NetworkTrafficProbe.readLoopbackBytes();
+        Thread.sleep(1000);
+
+        loadGenerator.stop();
+        LoadGenerator.Result result = load.get();
+        loadRunner.shutdown();
+        tracker.detach();
+
+        if (scenario == Scenario.ADD_NODE) {
+            // Back to two members for the next scenario
+            members.remove(extraMember);
+            extraMember.shutdown();
+            ClusterAwaiter.awaitClusterSafe(members.get(0));
+        }
+
+        boolean success = completed && tracker.getFailedReplicas() == 0 && map.size() == dataSize;
+        String message = String.format(
+                "%s with %d entries: %s, topology change to safe cluster %.1fms, estimated %s moved, loopback traffic %s, "
+                        + "client ops during migration p50=%.2fms p99=%.2fms max=%.2fms (%d ops), outside p50=%.2fms p99=%.2fms (%d ops), %d errors",
+                scenario, dataSize, tracker,
+                changeNanos / 1_000_000.0,
+                NetworkTrafficProbe.formatBytes(bytesPerReplica * tracker.getCompletedReplicas()),
+                NetworkTrafficProbe.formatDelta(bytesBefore, bytesAfter),
+                duringRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                duringRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                duringRecorder.getMax() / 1_000_000.0,
+                duringRecorder.getCount(),
+                outsideRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                outsideRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                outsideRecorder.getCount(),
+                result.getErrors());
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, success, message);
+    }
+
+    private HazelcastInstance startMember() {
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(createMemberConfig("member" + (members.size() + 1)));
+        members.add(member);
+        return member;
+    }
+
+    /**
+     * Average memory taken by one partition replica of the map, primary and backup entries included
+     */
+    private long memoryCostPerPartitionReplica() {
+        long memory = 0;
+        for (HazelcastInstance member : members) {
+            memory += member.getMap(MAP_NAME).getLocalMapStats().getOwnedEntryMemoryCost();
+            memory += member.getMap(MAP_NAME).getLocalMapStats().getBackupEntryMemoryCost();
+        }
+        int partitions = members.get(0).getPartitionService().getPartitions().size();
+        int replicas = 1 + members.get(0).getConfig().getMapConfig(MAP_NAME).getBackupCount();
+        return memory / ((long) partitions * replicas);
+    }
+}
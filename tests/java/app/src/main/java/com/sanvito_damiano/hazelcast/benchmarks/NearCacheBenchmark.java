@@ -0,0 +1,243 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.LoadGenerator;
+
+/**
+ * Read-heavy workloads against the same data with the client near cache disabled, enabled with
+ * the OBJECT in-memory format and enabled with the BINARY format. A second scenario adds writers
+ * on another client and measures how long the near-cached client keeps serving outdated values.
+ */
+public class NearCacheBenchmark extends AbstractBenchmark {
+
+    private enum NearCacheMode { OFF, OBJECT, BINARY }
+
+    private static final int keySpace = intParameter("nearcache.keys", 10_000);
+    private static final int valueSize = intParameter("nearcache.value.size", 1024);
+    private static final int readers = intParameter("nearcache.readers", 8);
+    private static final int writers = intParameter("nearcache.writers", 2);
+    private static final int durationSeconds = intParameter("nearcache.duration", 10);
+    // Hazelcast batches invalidations every 10 seconds by default
+    private static final int invalidationBatchSeconds = intParameter("nearcache.invalidation.batch.seconds", -1);
+
+    // Versions are nanoseconds since this origin, so that they are always positive and comparable with the preload version 0
+    private static final long versionOrigin = System.nanoTime();
+
+    public NearCacheBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        if (invalidationBatchSeconds >= 0) {
+            config.setProperty("hazelcast.map.invalidation.batch.frequency.seconds", String.valueOf(invalidationBatchSeconds));
+        }
+    }
+
+    @Override
+    protected void configureClient(ClientConfig clientConfig) {
+        for (NearCacheMode mode : NearCacheMode.values()) {
+            if (mode != NearCacheMode.OFF) {
+                clientConfig.addNearCacheConfig(new NearCacheConfig(mapName(mode))
+                        .setInMemoryFormat(InMemoryFormat.valueOf(mode.name()))
+                        .setInvalidateOnChange(true));
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (NearCacheMode mode : NearCacheMode.values()) {
+            IMap<Integer, VersionedValue> map = getMap(mode);
+            map.clear();
+            Map<Integer, VersionedValue> entries = new HashMap<>();
+            for (int i = 0; i < keySpace; i++) {
+                entries.put(i, new VersionedValue(0, valueSize));
+            }
+            map.putAll(entries);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        for (NearCacheMode mode : NearCacheMode.values()) {
+            getMap(mode).destroy();
+        }
+        super.cleanup();
+    }
+
+    /**
+     * Readers only, the near cache is warmed up with one pass over the keys before measuring
+     */
+    public void testReadHeavyWorkload() throws Exception {
+        System.out.println("\n=== Near Cache Benchmark: read-heavy workload ===");
+        for (NearCacheMode mode : NearCacheMode.values()) {
+            IMap<Integer, VersionedValue> map = getMap(mode);
+            for (int i = 0; i < keySpace; i++) {
+                map.get(i);
+            }
+
+            String operation = "NearCache-Read-" + mode;
+            LatencyRecorder recorder = latencyRecorder(operation);
+            long[] statsBefore = nearCacheCounters(map);
+
+            LoadGenerator.Result result = new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, readers)
+                    .run(durationSeconds, TimeUnit.SECONDS, recorder, (workerId, random) -> map.get(random.nextInt(keySpace)));
+
+            long[] statsAfter = nearCacheCounters(map);
+            boolean success = result.getOperations() > 0 && result.getErrors() == 0;
+            String message = String.format(
+                    "%s with %d readers over %ds: %.0f reads/s, hit ratio %s, p50=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus",
+                    mode, readers, durationSeconds, result.getThroughput(),
+                    hitRatio(statsBefore, statsAfter),
+                    recorder.getValueAtPercentile(50) / 1000.0,
+                    recorder.getValueAtPercentile(99) / 1000.0,
+                    recorder.getValueAtPercentile(99.9) / 1000.0,
+                    recorder.getMax() / 1000.0);
+
+            System.out.println((success ? "✓ " : "✗ ") + message);
+            recordTestResult(operation, success, message);
+        }
+    }
+
+    /**
+     * Readers on the near-cached client while writers on a second client keep updating the same keys.
+     * A read is stale when it returns a version older than one whose write had already completed;
+     * the staleness is the time elapsed since that newer write started.
+     */
+    public void testInvalidationUnderWrites() throws Exception {
+        System.out.println("\n=== Near Cache Benchmark: invalidation under concurrent writers ===");
+        HazelcastInstance writerClient = HazelcastClient.newHazelcastClient(clusterProfile.createClientConfig("writer"));
+        ExecutorService background = Executors.newSingleThreadExecutor();
+        try {
+            for (NearCacheMode mode : NearCacheMode.values()) {
+                reset();
+                runInvalidationScenario(mode, writerClient, background);
+            }
+        } finally {
+            background.shutdownNow();
+            writerClient.shutdown();
+        }
+    }
+
+    private void runInvalidationScenario(NearCacheMode mode, HazelcastInstance writerClient, ExecutorService background) throws Exception {
+        IMap<Integer, VersionedValue> readerMap = getMap(mode);
+        IMap<Integer, VersionedValue> writerMap = writerClient.getMap(mapName(mode));
+        for (int i = 0; i < keySpace; i++) {
+            readerMap.get(i);
+        }
+
+        String operation = "NearCache-Invalidation-" + mode;
+        LatencyRecorder readRecorder = latencyRecorder(operation + "-Read");
+        LatencyRecorder writeRecorder = latencyRecorder(operation + "-Write");
+        LatencyRecorder stalenessRecorder = latencyRecorder(operation + "-Staleness");
+        AtomicLongArray latestCompletedWrite = new AtomicLongArray(keySpace);
+        LongAdder staleReads = new LongAdder();
+        long[] statsBefore = nearCacheCounters(readerMap);
+
+        Future<LoadGenerator.Result> writes = background.submit(() ->
+                new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, writers)
+                        .run(durationSeconds, TimeUnit.SECONDS, writeRecorder, (workerId, random) -> {
+                            // Each key has a single writer (key % writers == workerId), so its versions are written in order
+                            int keysOfWriter = (keySpace - workerId + writers - 1) / writers;
+                            int key = workerId + writers * random.nextInt(keysOfWriter);
+                            long version = System.nanoTime() - versionOrigin;
+                            writerMap.set(key, new VersionedValue(version, valueSize));
+                            latestCompletedWrite.set(key, version);
+                        }));
+
+        LoadGenerator.Result reads = new LoadGenerator(LoadGenerator.ThreadMode.PLATFORM, readers)
+                .run(durationSeconds, TimeUnit.SECONDS, readRecorder, (workerId, random) -> {
+                    int key = random.nextInt(keySpace);
+                    long newestWritten = latestCompletedWrite.get(key);
+                    VersionedValue value = readerMap.get(key);
+                    if (value.getVersion() < newestWritten) {
+                        staleReads.increment();
+                        stalenessRecorder.recordSince(versionOrigin + newestWritten);
+                    }
+                });
+        LoadGenerator.Result writeResult = writes.get();
+
+        long[] statsAfter = nearCacheCounters(readerMap);
+        // Without a near cache every read goes to the owner, so a stale read would mean the metric itself is wrong
+        boolean success = reads.getErrors() == 0 && writeResult.getErrors() == 0
+                && (mode != NearCacheMode.OFF || staleReads.sum() == 0);
+        String message = String.format(
+                "%s with %d readers and %d writers over %ds: %.0f reads/s, %.0f writes/s, hit ratio %s, " +
+                "read p50=%.1fus, p99=%.1fus, stale reads %d (%.3f%%%s), staleness p50=%.1fms, p99=%.1fms, max=%.1fms",
+                mode, readers, writers, durationSeconds, reads.getThroughput(), writeResult.getThroughput(),
+                hitRatio(statsBefore, statsAfter),
+                readRecorder.getValueAtPercentile(50) / 1000.0,
+                readRecorder.getValueAtPercentile(99) / 1000.0,
+                staleReads.sum(),
+                reads.getOperations() == 0 ? 0.0 : 100.0 * staleReads.sum() / reads.getOperations(),
+                mode == NearCacheMode.OFF ? ", expected 0 without near cache" : "",
+                stalenessRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                stalenessRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                stalenessRecorder.getMax() / 1_000_000.0);
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, success, message);
+    }
+
+    private IMap<Integer, VersionedValue> getMap(NearCacheMode mode) {
+        return hazelcastInstance.getMap(mapName(mode));
+    }
+
+    private static String mapName(NearCacheMode mode) {
+        return "nearcache-" + mode.name().toLowerCase();
+    }
+
+    /**
+     * Current near cache hits and misses of the map, zeros when it has no near cache
+     */
+    private static long[] nearCacheCounters(IMap<Integer, VersionedValue> map) {
+        NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
+        return stats == null ? new long[] {0, 0} : new long[] {stats.getHits(), stats.getMisses()};
+    }
+
+    private static String hitRatio(long[] before, long[] after) {
+        long hits = after[0] - before[0];
+        long misses = after[1] - before[1];
+        if (hits + misses == 0) {
+            return "n/a";
+        }
+        return String.format("%.2f%%", 100.0 * hits / (hits + misses));
+    }
+
+    /**
+     * Value carrying the time of its write, so readers can tell how old it is
+     */
+    public static class VersionedValue implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long version;
+        private final byte[] payload;
+
+        public VersionedValue(long version, int payloadSize) {
+            this.version = version;
+            this.payload = new byte[payloadSize];
+        }
+
+        public long getVersion() { return version; }
+        public byte[] getPayload() { return payload; }
+    }
+}
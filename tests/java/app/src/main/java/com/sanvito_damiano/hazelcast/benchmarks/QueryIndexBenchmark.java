@@ -0,0 +1,268 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.LocalIndexStats;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.sql.SqlResult;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+
+/**
+ * Runs the kind of predicates and SQL filters used by QueryTest against the same data with
+ * no index, HASH indexes and SORTED indexes on age, departmentId and active, and reports the
+ * query latency together with the memory taken by the indexes on the members
+ */
+public class QueryIndexBenchmark extends AbstractBenchmark {
+
+    private enum Indexing { NONE, HASH, SORTED }
+
+    private static final int[] dataSizes = intParameters("query.sizes", 10_000, 100_000, 1_000_000);
+    private static final int repetitions = intParameter("query.repetitions", 10);
+    private static final int departmentCount = 100;
+    private static final String[] indexedAttributes = {"age", "departmentId", "active"};
+
+    /**
+     * A filter expressed both as a predicate and as a SQL condition, with a local way of counting the expected matches
+     */
+    private enum Query {
+        AGE_EQUALS("age = 30", Predicates.equal("age", 30)) {
+            boolean matches(int id) { return age(id) == 30; }
+        },
+        AGE_RANGE("age BETWEEN 30 AND 32", Predicates.between("age", 30, 32)) {
+            boolean matches(int id) { return age(id) >= 30 && age(id) <= 32; }
+        },
+        DEPARTMENT_EQUALS("departmentId = 'D7'", Predicates.equal("departmentId", "D7")) {
+            boolean matches(int id) { return departmentId(id).equals("D7"); }
+        },
+        AGE_AND_ACTIVE("age = 30 AND active = TRUE", Predicates.and(Predicates.equal("age", 30), Predicates.equal("active", true))) {
+            boolean matches(int id) { return age(id) == 30 && active(id); }
+        };
+
+        private final String sqlCondition;
+        private final Predicate<Integer, IndexedPerson> predicate;
+
+        Query(String sqlCondition, Predicate<Integer, IndexedPerson> predicate) {
+            this.sqlCondition = sqlCondition;
+            this.predicate = predicate;
+        }
+
+        abstract boolean matches(int id);
+    }
+
+    public QueryIndexBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        for (Indexing indexing : Indexing.values()) {
+            MapConfig mapConfig = new MapConfig(mapName(indexing));
+            if (indexing != Indexing.NONE) {
+                IndexType type = indexing == Indexing.HASH ? IndexType.HASH : IndexType.SORTED;
+                for (String attribute : indexedAttributes) {
+                    mapConfig.addIndexConfig(new IndexConfig(type, attribute));
+                }
+            }
+            config.addMapConfig(mapConfig);
+        }
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        for (Indexing indexing : Indexing.values()) {
+            hazelcastInstance.getSql().execute("CREATE OR REPLACE MAPPING \"" + mapName(indexing) + "\" "
+                    + "TYPE IMap OPTIONS ("
+                    + "'keyFormat'='java', 'keyJavaClass'='java.lang.Integer', "
+                    + "'valueFormat'='java', 'valueJavaClass'='" + IndexedPerson.class.getName() + "')").close();
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (Indexing indexing : Indexing.values()) {
+            hazelcastInstance.getMap(mapName(indexing)).clear();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        for (Indexing indexing : Indexing.values()) {
+            hazelcastInstance.getMap(mapName(indexing)).destroy();
+        }
+        super.cleanup();
+    }
+
+    public void testIndexedQueries() {
+        for (int dataSize : dataSizes) {
+            System.out.println("\n=== Query Index Benchmark with " + dataSize + " entries ===");
+            reset();
+            for (Indexing indexing : Indexing.values()) {
+                IMap<Integer, IndexedPerson> map = hazelcastInstance.getMap(mapName(indexing));
+                try (BulkLoader<Integer, IndexedPerson> loader = new BulkLoader<>(hazelcastInstance, map)) {
+                    for (int i = 0; i < dataSize; i++) {
+                        loader.add(i, new IndexedPerson("Person" + i, age(i), active(i), departmentId(i)));
+                    }
+                }
+            }
+
+            // Index hit and query counts are cumulative and survive clear(), so only the runs of this size are reported
+            Map<Indexing, long[]> usageBefore = new EnumMap<>(Indexing.class);
+            for (Indexing indexing : Indexing.values()) {
+                usageBefore.put(indexing, indexUsage(indexing));
+            }
+
+            for (Query query : Query.values()) {
+                int expected = 0;
+                for (int i = 0; i < dataSize; i++) {
+                    if (query.matches(i)) {
+                        expected++;
+                    }
+                }
+                for (Indexing indexing : Indexing.values()) {
+                    runPredicate(indexing, query, dataSize, expected);
+                    runSql(indexing, query, dataSize, expected);
+                }
+            }
+
+            for (Indexing indexing : Indexing.values()) {
+                reportIndexMemory(indexing, dataSize, usageBefore.get(indexing));
+            }
+        }
+    }
+
+    private void runPredicate(Indexing indexing, Query query, int dataSize, int expected) {
+        IMap<Integer, IndexedPerson> map = hazelcastInstance.getMap(mapName(indexing));
+        String operation = "QueryIndex-Predicate-" + query + "-" + indexing + "-" + dataSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+
+        boolean correct = true;
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            int matches = map.keySet(query.predicate).size();
+            recorder.recordSince(start);
+            correct &= matches == expected;
+        }
+        report(operation, "Predicate", indexing, query, dataSize, expected, recorder, correct);
+    }
+
+    private void runSql(Indexing indexing, Query query, int dataSize, int expected) {
+        String operation = "QueryIndex-SQL-" + query + "-" + indexing + "-" + dataSize;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        String sql = "SELECT COUNT(*) FROM \"" + mapName(indexing) + "\" WHERE " + query.sqlCondition;
+
+        boolean correct = true;
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            long matches;
+            try (SqlResult result = hazelcastInstance.getSql().execute(sql)) {
+                matches = result.iterator().next().<Long>getObject(0);
+            }
+            recorder.recordSince(start);
+            correct &= matches == expected;
+        }
+        report(operation, "SQL", indexing, query, dataSize, expected, recorder, correct);
+    }
+
+    private void report(String operation, String kind, Indexing indexing, Query query, int dataSize, int expected,
+                        LatencyRecorder recorder, boolean correct) {
+        String message = String.format(
+                "%s [%s] with %s indexes over %d entries (%d matches): p50=%.2fms, p99=%.2fms, max=%.2fms, results correct: %b",
+                kind, query.sqlCondition, indexing, dataSize, expected,
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                correct);
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, correct, message);
+    }
+
+    /**
+     * Sums the index memory cost reported by every member next to the owned entry cost, and the index usage
+     * since usageBefore was taken
+     */
+    private void reportIndexMemory(Indexing indexing, int dataSize, long[] usageBefore) {
+        long entryMemory = 0;
+        long indexMemory = 0;
+        for (HazelcastInstance member : members) {
+            IMap<Integer, IndexedPerson> map = member.getMap(mapName(indexing));
+            entryMemory += map.getLocalMapStats().getOwnedEntryMemoryCost();
+            for (LocalIndexStats index : map.getLocalMapStats().getIndexStats().values()) {
+                indexMemory += index.getMemoryCost();
+            }
+        }
+        long[] usage = indexUsage(indexing);
+        long indexHits = usage[0] - usageBefore[0];
+        long indexedQueries = usage[1] - usageBefore[1];
+
+        String message = String.format(
+                "%s indexes over %d entries: index memory %.2f MB (%.1f bytes/entry), owned entries %.2f MB, " +
+                "index overhead %.1f%%, index hits %d across %d indexed queries",
+                indexing, dataSize,
+                indexMemory / (1024.0 * 1024.0),
+                dataSize == 0 ? 0.0 : (double) indexMemory / dataSize,
+                entryMemory / (1024.0 * 1024.0),
+                entryMemory == 0 ? 0.0 : 100.0 * indexMemory / entryMemory,
+                indexHits, indexedQueries);
+
+        System.out.println(message);
+        recordTestResult("QueryIndex-Memory-" + indexing + "-" + dataSize, true, message);
+    }
+
+    /**
+     * Index hits and indexed queries summed over every member and index, as {hits, queries}
+     */
+    private long[] indexUsage(Indexing indexing) {
+        long[] usage = new long[2];
+        for (HazelcastInstance member : members) {
+            for (LocalIndexStats index : member.getMap(mapName(indexing)).getLocalMapStats().getIndexStats().values()) {
+                usage[0] += index.getHitCount();
+                usage[1] += index.getQueryCount();
+            }
+        }
+        return usage;
+    }
+
+    private static String mapName(Indexing indexing) {
+        return "query-index-" + indexing.name().toLowerCase();
+    }
+
+    private static int age(int id) { return 20 + id % 50; }
+    private static boolean active(int id) { return id % 2 == 0; }
+    private static String departmentId(int id) { return "D" + (id % departmentCount); }
+
+    /**
+     * Same shape as the Person2 record queried by QueryTest
+     */
+    public static class IndexedPerson implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private int age;
+        private boolean active;
+        private String departmentId;
+
+        public IndexedPerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public boolean isActive() { return active; }
+        public String getDepartmentId() { return departmentId; }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.map.IMap;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.ScatterGather;
+
+/**
+ * Compares the blocking pattern of ExecutorServiceTest (submitToAllMembers and then get() on every
+ * future in turn) with ScatterGather, which merges partial results as they complete, on clusters of
+ * 2 to 5 members with and without one member being much slower than the others
+ */
+public class ScatterGatherBenchmark extends AbstractBenchmark {
+
+    private enum Pattern { BLOCKING, STREAMING }
+
+    private static final String MAP_NAME = "scatter-gather-map";
+
+    private static final int[] memberCounts = intParameters("scatter.members", 2, 3, 4, 5);
+    private static final int entryCount = intParameter("scatter.entries", 10_000);
+    private static final int rounds = intParameter("scatter.rounds", 20);
+    private static final int workMillis = intParameter("scatter.work.millis", 20);
+    private static final int slowFactor = intParameter("scatter.slow.factor", 10);
+
+    private IMap<Integer, Integer> map;
+    private IExecutorService executor;
+
+    public ScatterGatherBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        map = hazelcastInstance.getMap(MAP_NAME);
+        executor = hazelcastInstance.getExecutorService("scatter-gather-executor");
+        try (BulkLoader<Integer, Integer> loader = new BulkLoader<>(hazelcastInstance, map)) {
+            for (int i = 0; i < entryCount; i++) {
+                loader.add(i, 1);
+            }
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        executor.shutdownNow();
+        executor = null;
+        map.destroy();
+        map = null;
+        super.cleanup();
+    }
+
+    public void testScatterGatherWithoutSkew() throws Exception {
+        runAll(false);
+    }
+
+    public void testScatterGatherWithSlowMember() throws Exception {
+        runAll(true);
+    }
+
+    private void runAll(boolean slowMember) throws Exception {
+        System.out.println("\n=== Scatter-Gather Benchmark " + (slowMember ? "with a slow member" : "without skew") + " ===");
+        for (int memberCount : memberCounts) {
+            resizeClusterTo(memberCount);
+            String slowMemberUuid = slowMember ? members.get(0).getCluster().getLocalMember().getUuid().toString() : null;
+            for (Pattern pattern : Pattern.values()) {
+                runPattern(pattern, memberCount, slowMemberUuid);
+            }
+        }
+    }
+
+    /**
+     * Starts or gracefully shuts down members until the cluster has the requested size, then waits for the
+     * migrations to end. Both tests resize the cluster, so each scenario runs on the size it is labelled with
+     */
+    private void resizeClusterTo(int memberCount) throws InterruptedException {
+        while (members.size() < memberCount) {
+            members.add(Hazelcast.newHazelcastInstance(createMemberConfig("member" + (members.size() + 1))));
+        }
+        while (members.size() > memberCount) {
+            members.remove(members.size() - 1).shutdown();
+        }
+        ClusterAwaiter.awaitClusterSize(members.get(0), memberCount);
+        ClusterAwaiter.awaitClusterSafe(members.get(0));
+    }
+
+    private void runPattern(Pattern pattern, int memberCount, String slowMemberUuid) throws Exception {
+        String scenario = pattern + "-" + memberCount + "-members" + (slowMemberUuid == null ? "" : "-slow-member");
+        LatencyRecorder totalRecorder = latencyRecorder("ScatterGather-" + scenario + "-Total");
+        LatencyRecorder firstRecorder = latencyRecorder("ScatterGather-" + scenario + "-FirstResult");
+        LocalCountTask task = new LocalCountTask(workMillis, slowFactor, slowMemberUuid);
+
+        boolean correct = true;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            long total;
+            if (pattern == Pattern.BLOCKING) {
+                total = 0;
+                boolean first = true;
+                for (Map.Entry<Member, Future<Long>> entry : executor.submitToAllMembers(task).entrySet()) {
+                    total += entry.getValue().get();
+                    if (first) {
+                        firstRecorder.recordSince(start);
+                        first = false;
+                    }
+                }
+            } else {
+                AtomicLong firstResultAt = new AtomicLong();
+                total = new ScatterGather<Long, Long>(0L, Long::sum)
+                        .onPartialResult(partial -> firstResultAt.compareAndSet(0, System.nanoTime()))
+                        .submitToAllMembers(executor, task)
+                        .get();
+                firstRecorder.record(firstResultAt.get() - start);
+            }
+            totalRecorder.recordSince(start);
+            correct &= total == entryCount;
+        }
+
+        String message = String.format(
+                "%s on %d members%s over %d rounds: first result p50=%.1fms, total p50=%.1fms, p99=%.1fms, max=%.1fms, merged counts correct: %b",
+                pattern, memberCount,
+                slowMemberUuid == null ? "" : " with one member " + slowFactor + "x slower",
+                rounds,
+                firstRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                totalRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                totalRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                totalRecorder.getMax() / 1_000_000.0,
+                correct);
+
+        System.out.println((correct ? "✓ " : "✗ ") + message);
+        recordTestResult("ScatterGather-" + scenario, correct, message);
+    }
+
+    /**
+     * Counts the entries owned by the member after simulating some work, the slow member works longer
+     */
+    static class LocalCountTask implements Callable<Long>, Serializable, HazelcastInstanceAware {
+        private static final long serialVersionUID = 1L;
+
+        private transient HazelcastInstance hazelcastInstance;
+        private final int workMillis;
+        private final int slowFactor;
+        private final String slowMemberUuid;
+
+        LocalCountTask(int workMillis, int slowFactor, String slowMemberUuid) {
+            this.workMillis = workMillis;
+            this.slowFactor = slowFactor;
+            this.slowMemberUuid = slowMemberUuid;
+        }
+
+        @Override
+        public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+            this.hazelcastInstance = hazelcastInstance;
+        }
+
+        @Override
+        public Long call() throws Exception {
+            String localUuid = hazelcastInstance.getCluster().getLocalMember().getUuid().toString();
+            Thread.sleep(localUuid.equals(slowMemberUuid) ? (long) workMillis * slowFactor : workMillis);
+            return (long) hazelcastInstance.getMap(MAP_NAME).localKeySet().size();
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+
+/**
+ * Stores the same person record through every serialization mechanism offered by Hazelcast
+ * and compares the serialized size, the cost of serializing and deserializing it on the client
+ * and the end-to-end throughput of map writes, reads and predicate queries
+ */
+public class SerializationBenchmark extends AbstractBenchmark {
+
+    private static final int FACTORY_ID = 1000;
+    private static final int PERSON_CLASS_ID = 1;
+
+    private static final int iterations = intParameter("serialization.iterations", 200_000);
+    private static final int entryCount = intParameter("serialization.entries", 50_000);
+    private static final int queryCount = intParameter("serialization.queries", 20);
+
+    private enum Format {
+        SERIALIZABLE {
+            Object create(int id) { return new SerializablePerson(personName(id), age(id), active(id), departmentId(id)); }
+        },
+        IDENTIFIED_DATA_SERIALIZABLE {
+            Object create(int id) { return new IdsPerson(personName(id), age(id), active(id), departmentId(id)); }
+        },
+        PORTABLE {
+            Object create(int id) { return new PortablePerson(personName(id), age(id), active(id), departmentId(id)); }
+        },
+        COMPACT_ZERO_CONFIG {
+            Object create(int id) { return new ZeroConfigCompactPerson(personName(id), age(id), active(id), departmentId(id)); }
+        },
+        COMPACT_EXPLICIT {
+            Object create(int id) { return new CompactPerson(personName(id), age(id), active(id), departmentId(id)); }
+        },
+        JSON {
+            Object create(int id) {
+                return new HazelcastJsonValue(String.format("{\"name\":\"%s\",\"age\":%d,\"active\":%b,\"departmentId\":\"%s\"}",
+                                                            personName(id), age(id), active(id), departmentId(id)));
+            }
+        };
+
+        abstract Object create(int id);
+
+        static String personName(int id) { return "Person" + id; }
+        static int age(int id) { return 20 + id % 50; }
+        static boolean active(int id) { return id % 2 == 0; }
+        static String departmentId(int id) { return "D" + (id % 4 + 1); }
+    }
+
+    private SerializationService serializationService;
+
+    public SerializationBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    protected void configureMember(Config config) {
+        registerSerializers(config.getSerializationConfig());
+    }
+
+    @Override
+    protected void configureClient(ClientConfig clientConfig) {
+        registerSerializers(clientConfig.getSerializationConfig());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void registerSerializers(SerializationConfig serializationConfig) {
+        serializationConfig.addDataSerializableFactory(FACTORY_ID, classId -> classId == PERSON_CLASS_ID ? new IdsPerson() : null);
+        serializationConfig.addPortableFactory(FACTORY_ID, classId -> classId == PERSON_CLASS_ID ? new PortablePerson() : null);
+        serializationConfig.getCompactSerializationConfig().addSerializer(new CompactPersonSerializer());
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+        serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+    }
+
+    @Override
+    public void reset() {
+        for (Format format : Format.values()) {
+            getMap(format).clear();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        for (Format format : Format.values()) {
+            getMap(format).destroy();
+        }
+        serializationService = null;
+        super.cleanup();
+    }
+
+    private IMap<Integer, Object> getMap(Format format) {
+        return hazelcastInstance.getMap("serialization-" + format.name().toLowerCase().replace('_', '-'));
+    }
+
+    /**
+     * Serialized size and client-side serialize/deserialize cost, no network involved
+     */
+    public void testSerializationCost() {
+        System.out.println("\n=== Serialization Benchmark: size and cost ===");
+        for (Format format : Format.values()) {
+            Object sample = format.create(42);
+            Data data = serializationService.toData(sample);
+            Object roundTrip = serializationService.toObject(data);
+
+            // Warm up both paths before measuring
+            long sink = measureSerialization(format, iterations) + measureDeserialization(data, iterations);
+
+            long serializeStart = System.nanoTime();
+            sink += measureSerialization(format, iterations);
+            double serializeNanos = (System.nanoTime() - serializeStart) / (double) iterations;
+
+            long deserializeStart = System.nanoTime();
+            sink += measureDeserialization(data, iterations);
+            double deserializeNanos = (System.nanoTime() - deserializeStart) / (double) iterations;
+
+            boolean success = roundTrip != null && roundTrip.getClass() == sample.getClass();
+            String message = String.format(
+                    "%s: %d bytes serialized (%d bytes payload), serialize %.0f ns/op, deserialize %.0f ns/op (checksum %d)",
+                    format, data.totalSize(), data.dataSize(), serializeNanos, deserializeNanos, sink & 0xFF);
+
+            System.out.println((success ? "✓ " : "✗ ") + message);
+            recordTestResult("Serialization-Cost-" + format, success, message);
+        }
+    }
+
+    /**
+     * End-to-end set and get throughput through the client
+     */
+    public void testMapThroughput() {
+        System.out.println("\n=== Serialization Benchmark: map throughput ===");
+        for (Format format : Format.values()) {
+            IMap<Integer, Object> map = getMap(format);
+            LatencyRecorder writeRecorder = latencyRecorder("Serialization-Set-" + format);
+            LatencyRecorder readRecorder = latencyRecorder("Serialization-Get-" + format);
+
+            long writeStart = System.nanoTime();
+            for (int i = 0; i < entryCount; i++) {
+                Object value = format.create(i);
+                long start = System.nanoTime();
+                map.set(i, value);
+                writeRecorder.recordSince(start);
+            }
+            long writeElapsed = System.nanoTime() - writeStart;
+
+            int found = 0;
+            long readStart = System.nanoTime();
+            for (int i = 0; i < entryCount; i++) {
+                long start = System.nanoTime();
+                Object value = map.get(i);
+                readRecorder.recordSince(start);
+                if (value != null) {
+                    found++;
+                }
+            }
+            long readElapsed = System.nanoTime() - readStart;
+
+            boolean success = found == entryCount;
+            String message = String.format(
+                    "%s over %d entries: set %.0f ops/s (p50=%.1fus, p99=%.1fus), get %.0f ops/s (p50=%.1fus, p99=%.1fus), %d entries read back",
+                    format, entryCount,
+                    entryCount / (writeElapsed / 1_000_000_000.0),
+                    writeRecorder.getValueAtPercentile(50) / 1000.0, writeRecorder.getValueAtPercentile(99) / 1000.0,
+                    entryCount / (readElapsed / 1_000_000_000.0),
+                    readRecorder.getValueAtPercentile(50) / 1000.0, readRecorder.getValueAtPercentile(99) / 1000.0,
+                    found);
+
+            System.out.println((success ? "✓ " : "✗ ") + message);
+            recordTestResult("Serialization-Map-" + format, success, message);
+        }
+    }
+
+    /**
+     * Predicate query on the age attribute, members have to extract it from the stored format
+     */
+    public void testQueryThroughput() {
+        System.out.println("\n=== Serialization Benchmark: predicate queries ===");
+        int expected = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (Format.age(i) >= 45) {
+                expected++;
+            }
+        }
+
+        for (Format format : Format.values()) {
+            IMap<Integer, Object> map = getMap(format);
+            map.clear();
+            for (int i = 0; i < entryCount; i++) {
+                map.set(i, format.create(i));
+            }
+
+            LatencyRecorder recorder = latencyRecorder("Serialization-Query-" + format);
+            boolean success = true;
+            for (int q = 0; q < queryCount; q++) {
+                long start = System.nanoTime();
+                Collection<Object> values = map.values(Predicates.greaterEqual("age", 45));
+                recorder.recordSince(start);
+                success &= values.size() == expected;
+            }
+
+            String message = String.format(
+                    "%s age >= 45 over %d entries (%d matches): p50=%.2fms, p99=%.2fms, max=%.2fms, results correct: %b",
+                    format, entryCount, expected,
+                    recorder.getValueAtPercentile(50) / 1_000_000.0,
+                    recorder.getValueAtPercentile(99) / 1_000_000.0,
+                    recorder.getMax() / 1_000_000.0,
+                    success);
+
+            System.out.println((success ? "✓ " : "✗ ") + message);
+            recordTestResult("Serialization-Query-" + format, success, message);
+        }
+    }
+
+    private long measureSerialization(Format format, int count) {
+        long sink = 0;
+        Object sample = format.create(42);
+        for (int i = 0; i < count; i++) {
+            sink += serializationService.toData(sample).getPartitionHash();
+        }
+        return sink;
+    }
+
+    private long measureDeserialization(Data data, int count) {
+        long sink = 0;
+        for (int i = 0; i < count; i++) {
+            sink += serializationService.toObject(data).hashCode();
+        }
+        return sink;
+    }
+
+    public static class SerializablePerson implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private int age;
+        private boolean active;
+        private String departmentId;
+
+        public SerializablePerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public boolean isActive() { return active; }
+        public String getDepartmentId() { return departmentId; }
+    }
+
+    public static class IdsPerson implements IdentifiedDataSerializable {
+        private String name;
+        private int age;
+        private boolean active;
+        private String departmentId;
+
+        public IdsPerson() {
+        }
+
+        public IdsPerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public boolean isActive() { return active; }
+        public String getDepartmentId() { return departmentId; }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeString(name);
+            out.writeInt(age);
+            out.writeBoolean(active);
+            out.writeString(departmentId);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readString();
+            age = in.readInt();
+            active = in.readBoolean();
+            departmentId = in.readString();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return PERSON_CLASS_ID;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    public static class PortablePerson implements Portable {
+        private String name;
+        private int age;
+        private boolean active;
+        private String departmentId;
+
+        public PortablePerson() {
+        }
+
+        public PortablePerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeString("name", name);
+            writer.writeInt("age", age);
+            writer.writeBoolean("active", active);
+            writer.writeString("departmentId", departmentId);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readString("name");
+            age = reader.readInt("age");
+            active = reader.readBoolean("active");
+            departmentId = reader.readString("departmentId");
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return PERSON_CLASS_ID;
+        }
+    }
+
+    /**
+     * No serializer is registered for this class, Hazelcast serializes it with the reflective Compact serializer
+     */
+    public static class ZeroConfigCompactPerson {
+        private String name;
+        private int age;
+        private boolean active;
+        private String departmentId;
+
+        public ZeroConfigCompactPerson() {
+        }
+
+        public ZeroConfigCompactPerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public boolean isActive() { return active; }
+        public String getDepartmentId() { return departmentId; }
+    }
+
+    public static class CompactPerson {
+        private final String name;
+        private final int age;
+        private final boolean active;
+        private final String departmentId;
+
+        public CompactPerson(String name, int age, boolean active, String departmentId) {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.departmentId = departmentId;
+        }
+
+        public String getName() { return name; }
+        public int getAge() { return age; }
+        public boolean isActive() { return active; }
+        public String getDepartmentId() { return departmentId; }
+    }
+
+    public static class CompactPersonSerializer implements CompactSerializer<CompactPerson> {
+        @Override
+        public CompactPerson read(CompactReader reader) {
+            return new CompactPerson(reader.readString("name"), reader.readInt32("age"),
+                                     reader.readBoolean("active"), reader.readString("departmentId"));
+        }
+
+        @Override
+        public void write(CompactWriter writer, CompactPerson person) {
+            writer.writeString("name", person.getName());
+            writer.writeInt32("age", person.getAge());
+            writer.writeBoolean("active", person.isActive());
+            writer.writeString("departmentId", person.getDepartmentId());
+        }
+
+        @Override
+        public Class<CompactPerson> getCompactClass() {
+            return CompactPerson.class;
+        }
+
+        @Override
+        public String getTypeName() {
+            return "compactPerson";
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.JobStatus;
+import com.hazelcast.jet.impl.JetServiceBackend;
+import com.hazelcast.jet.impl.JobExecutionRecord;
+import com.hazelcast.jet.impl.util.Util;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sink;
+import com.hazelcast.jet.pipeline.SinkBuilder;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+
+/**
+ * Measures what fault tolerance costs the stateful streaming job of testFaultTolerantPipeline:
+ * snapshot duration and size, the throughput dip while snapshots are taken for NONE, AT_LEAST_ONCE
+ * and EXACTLY_ONCE at several snapshot intervals and state sizes, and the time the job needs to
+ * process items again after a member is lost.
+ *
+ * Snapshot statistics are read from the job execution record kept by the Jet service of a member,
+ * throughput from a sink that counts items in this JVM (members are embedded). The record is internal
+ * API (JetServiceBackend, JobExecutionRecord), it is used because the public job metrics only expose the
+ * size of the snapshots, not how long each one took, and are collected every few seconds, so snapshots
+ * taken every 500ms would be missed. It has to be checked again when Hazelcast is upgraded
+ */
+public class SnapshotBenchmark extends AbstractBenchmark {
+
+    private static final AtomicLong processed = new AtomicLong();
+
+    private static final int eventRate = intParameter("snapshot.rate", 200_000);
+    private static final int[] snapshotIntervals = intParameters("snapshot.intervals", 500, 1000, 5000);
+    // Number of keys of the mapStateful stage, each one keeps a long[] of state
+    private static final int[] stateKeyCounts = intParameters("snapshot.state.keys", 10_000, 100_000, 1_000_000);
+    private static final int durationSeconds = intParameter("snapshot.duration", 15);
+    private static final int warmupSeconds = intParameter("snapshot.warmup", 3);
+    private static final int sampleMillis = intParameter("snapshot.sample.millis", 100);
+    private static final int recoveryTimeoutSeconds = intParameter("snapshot.recovery.timeout", 60);
+
+    public SnapshotBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    public void testSnapshotCost() throws InterruptedException {
+        for (int stateKeys : stateKeyCounts) {
+            System.out.println("\n=== Snapshot Benchmark with " + stateKeys + " state keys at " + eventRate + " events/s ===");
+            runSnapshotCost(ProcessingGuarantee.NONE, 0, stateKeys);
+            for (int interval : snapshotIntervals) {
+                runSnapshotCost(ProcessingGuarantee.AT_LEAST_ONCE, interval, stateKeys);
+                runSnapshotCost(ProcessingGuarantee.EXACTLY_ONCE, interval, stateKeys);
+            }
+        }
+    }
+
+    public void testRecoveryAfterMemberLoss() throws InterruptedException {
+        System.out.println("\n=== Snapshot Benchmark: recovery after member loss ===");
+        int stateKeys = stateKeyCounts[stateKeyCounts.length / 2];
+        int interval = snapshotIntervals[snapshotIntervals.length / 2];
+        for (ProcessingGuarantee guarantee : ProcessingGuarantee.values()) {
+            runRecovery(guarantee, guarantee == ProcessingGuarantee.NONE ? 0 : interval, stateKeys);
+        }
+    }
+
+    private void runSnapshotCost(ProcessingGuarantee guarantee, int interval, int stateKeys) throws InterruptedException {
+        String operation = "Snapshot-" + guarantee + (interval > 0 ? "-" + interval + "ms" : "") + "-" + stateKeys;
+        LatencyRecorder snapshotRecorder = latencyRecorder(operation + "-Duration");
+
+        Job job = startJob(guarantee, interval, stateKeys);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+
+        List<Long> throughputs = new ArrayList<>();
+        long lastSnapshotId = snapshotId(job);
+        long snapshotBytes = 0;
+        long previous = processed.get();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        while (System.nanoTime() < end) {
+            Thread.sleep(sampleMillis);
+            long current = processed.get();
+            throughputs.add((current - previous) * 1000 / sampleMillis);
+            previous = current;
+
+            JobExecutionRecord record = executionRecord(job);
+            if (record != null && record.snapshotId() != lastSnapshotId) {
+                lastSnapshotId = record.snapshotId();
+                snapshotRecorder.record(TimeUnit.MILLISECONDS.toNanos(record.snapshotStats().duration()));
+                snapshotBytes = record.snapshotStats().numBytes();
+            }
+        }
+        stopJob(job);
+
+        Collections.sort(throughputs);
+        long median = throughputs.get(throughputs.size() / 2);
+        long minimum = throughputs.get(0);
+        boolean success = median > 0;
+        String snapshots = snapshotRecorder.getCount() == 0 ? "no snapshots" : String.format(
+                "%d snapshots, duration p50=%.0fms, max=%.0fms, last size %.2f MB",
+                snapshotRecorder.getCount(),
+                snapshotRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                snapshotRecorder.getMax() / 1_000_000.0,
+                snapshotBytes / (1024.0 * 1024.0));
+
+        String message = String.format(
+                "%s%s with %d state keys: median throughput %d items/s, lowest %d items/s (dip %.0f%%), %s",
+                guarantee, interval > 0 ? " every " + interval + "ms" : "", stateKeys,
+                median, minimum,
+                median > 0 ? 100.0 * (median - minimum) / median : 0.0,
+                snapshots);
+
+        System.out.println((success ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, success, message);
+    }
+
+    private void runRecovery(ProcessingGuarantee guarantee, int interval, int stateKeys) throws InterruptedException {
+        String operation = "Snapshot-Recovery-" + guarantee + (interval > 0 ? "-" + interval + "ms" : "") + "-" + stateKeys;
+
+        // The extra member is started before the job so that joining it does not restart the job
+        HazelcastInstance victim = Hazelcast.newHazelcastInstance(createMemberConfig("member" + (members.size() + 1)));
+        members.add(victim);
+        ClusterAwaiter.awaitClusterSafe(members.get(0));
+
+        Job job = startJob(guarantee, interval, stateKeys);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds + Math.max(1, interval / 1000)));
+
+        // The job has recovered once its status left RUNNING, came back to it and new items reached the sink.
+        // A slow sample alone does not mean a restart, so the status changes are followed with a listener
+        AtomicBoolean leftRunning = new AtomicBoolean();
+        AtomicLong resumedFrom = new AtomicLong();
+        AtomicLong runningAgainAt = new AtomicLong(-1);
+        UUID registration = job.addStatusListener(event -> {
+            if (event.getNewStatus() != JobStatus.RUNNING) {
+                leftRunning.set(true);
+            } else if (leftRunning.get() && runningAgainAt.get() < 0) {
+                resumedFrom.set(processed.get());
+                runningAgainAt.set(System.nanoTime());
+            }
+        });
+
+        members.remove(victim);
+        long killedAt = System.nanoTime();
+        victim.getLifecycleService().terminate();
+
+        long recoveryNanos = -1;
+        long deadline = killedAt + TimeUnit.SECONDS.toNanos(recoveryTimeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            if (runningAgainAt.get() >= 0 && processed.get() > resumedFrom.get()) {
+                recoveryNanos = System.nanoTime() - killedAt;
+                break;
+            }
+        }
+        job.removeStatusListener(registration);
+        stopJob(job);
+
+        boolean recovered = recoveryNanos >= 0;
+        String message = recovered
+                ? String.format("%s%s with %d state keys running again %.0fms and processing %.0fms after losing a member",
+                                guarantee, interval > 0 ? " every " + interval + "ms" : "", stateKeys,
+                                (runningAgainAt.get() - killedAt) / 1_000_000.0, recoveryNanos / 1_000_000.0)
+                : String.format("%s with %d state keys did not recover within %ds after losing a member (%s)",
+                                guarantee, stateKeys, recoveryTimeoutSeconds,
+                                !leftRunning.get() ? "the job never restarted"
+                                        : runningAgainAt.get() < 0 ? "the job is not running again" : "no new items after the restart");
+        System.out.println((recovered ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, recovered, message);
+    }
+
+    /**
+     * Same stateful shape for every run: a counter per key, updated by every event
+     */
+    private Job startJob(ProcessingGuarantee guarantee, int interval, int stateKeys) {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.itemStream(eventRate))
+                .withoutTimestamps()
+                .groupingKey(event -> event.sequence() % stateKeys)
+                .mapStateful(() -> new long[1], (state, key, event) -> ++state[0])
+                .writeTo(countingSink());
+
+        JobConfig jobConfig = new JobConfig().setProcessingGuarantee(guarantee);
+        if (interval > 0) {
+            jobConfig.setSnapshotIntervalMillis(interval);
+        }
+        return hazelcastInstance.getJet().newJob(pipeline, jobConfig);
+    }
+
+    private static void stopJob(Job job) {
+        job.cancel();
+        try {
+            job.join();
+        } catch (CancellationException e) {
+            // Expected, streaming jobs only end when cancelled
+        }
+    }
+
+    private static Sink<Long> countingSink() {
+        return SinkBuilder.sinkBuilder("processed-counter", context -> processed)
+                .<Long>receiveFn((counter, item) -> counter.incrementAndGet())
+                .build();
+    }
+
+    private JobExecutionRecord executionRecord(Job job) {
+        JetServiceBackend jetService = Util.getNodeEngine(members.get(0)).getService(JetServiceBackend.SERVICE_NAME);
+        return jetService.getJobRepository().getJobExecutionRecord(job.getId());
+    }
+
+    private long snapshotId(Job job) {
+        JobExecutionRecord record = executionRecord(job);
+        return record == null ? -1 : record.snapshotId();
+    }
+}
@@ -0,0 +1,324 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlStatement;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+import com.sanvito_damiano.hazelcast.benchmarks.QueryIndexBenchmark.IndexedPerson;
+
+/**
+ * Runs the SELECT/WHERE/JOIN/GROUP BY/HAVING statements of QueryTest over larger maps and compares
+ * literal statements (a new text, hence a new plan, on every run) with one parameterized SqlStatement
+ * reused across runs, several cursor buffer sizes, and an explicit CREATE MAPPING with a column list
+ * against one whose columns and formats are inferred from a sample entry
+ */
+public class SqlBenchmark extends AbstractBenchmark {
+
+    private enum Mode { LITERAL, PARAMETERIZED }
+
+    private enum Mapping { EXPLICIT, INFERRED }
+
+    private static final String PERSONS_MAP = "sql-persons";
+    private static final String DEPARTMENTS_MAP = "sql-departments";
+
+    private static final int dataSize = intParameter("sql.size", 100_000);
+    private static final int departmentCount = intParameter("sql.departments", 100);
+    // Literal texts repeat after 50 runs, later runs would hit the plan cache
+    private static final int repetitions = intParameter("sql.repetitions", 50);
+    private static final int warmupRepetitions = intParameter("sql.warmup", 10);
+    private static final int[] cursorBufferSizes = intParameters("sql.cursor.buffer.sizes", 64, 256, 4096, 16384);
+    private static final int cursorRepetitions = intParameter("sql.cursor.repetitions", 10);
+
+    /**
+     * A QueryTest statement where every %s is either a literal or a ? placeholder, with parameters that change
+     * on every run so that the literal texts differ
+     */
+    private enum Query {
+        WHERE("SELECT name, age FROM persons WHERE age > %s AND active = %s") {
+            Object[] parameters(int run) { return new Object[] {18 + Math.floorMod(run, 50), run % 2 == 0}; }
+        },
+        JOIN("SELECT p.name, d.name AS department_name FROM persons p JOIN departments d ON p.departmentId = d.id "
+                + "WHERE d.location = %s AND p.age > %s") {
+            Object[] parameters(int run) { return new Object[] {"Building " + (char) ('A' + Math.floorMod(run, 4)), 18 + Math.floorMod(run, 50)}; }
+        },
+        GROUP_BY("SELECT departmentId, COUNT(*) AS employee_count, AVG(age) AS avg_age FROM persons WHERE age > %s "
+                + "GROUP BY departmentId") {
+            Object[] parameters(int run) { return new Object[] {18 + Math.floorMod(run, 50)}; }
+        },
+        HAVING("SELECT departmentId, COUNT(*) AS employee_count FROM persons GROUP BY departmentId HAVING COUNT(*) > %s") {
+            Object[] parameters(int run) { return new Object[] {run}; }
+        };
+
+        private final String template;
+
+        Query(String template) {
+            this.template = template;
+        }
+
+        abstract Object[] parameters(int run);
+
+        SqlStatement literalStatement(int run) {
+            Object[] literals = parameters(run);
+            for (int i = 0; i < literals.length; i++) {
+                literals[i] = literals[i] instanceof String ? "'" + literals[i] + "'" : String.valueOf(literals[i]).toUpperCase();
+            }
+            return new SqlStatement(String.format(template, literals));
+        }
+
+        SqlStatement parameterizedStatement() {
+            Object[] placeholders = new Object[parameters(0).length];
+            Arrays.fill(placeholders, "?");
+            return new SqlStatement(String.format(template, placeholders));
+        }
+    }
+
+    public SqlBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    @Override
+    public void setup() {
+        super.setup();
+
+        IMap<Integer, IndexedPerson> persons = hazelcastInstance.getMap(PERSONS_MAP);
+        try (BulkLoader<Integer, IndexedPerson> loader = new BulkLoader<>(hazelcastInstance, persons)) {
+            for (int i = 0; i < dataSize; i++) {
+                loader.add(i, new IndexedPerson("Person" + i, 18 + i % 60, i % 2 == 0, "D" + (i % departmentCount)));
+            }
+        }
+        IMap<String, SqlDepartment> departments = hazelcastInstance.getMap(DEPARTMENTS_MAP);
+        try (BulkLoader<String, SqlDepartment> loader = new BulkLoader<>(hazelcastInstance, departments)) {
+            for (int i = 0; i < departmentCount; i++) {
+                loader.add("D" + i, new SqlDepartment("D" + i, "Department" + i, "Building " + (char) ('A' + i % 4)));
+            }
+        }
+
+        hazelcastInstance.getSql().execute(mappingStatement(Mapping.EXPLICIT, "persons")).close();
+        hazelcastInstance.getSql().execute("CREATE OR REPLACE MAPPING departments EXTERNAL NAME \"" + DEPARTMENTS_MAP + "\" "
+                + "TYPE IMap OPTIONS ("
+                + "'keyFormat'='varchar', "
+                + "'valueFormat'='java', 'valueJavaClass'='" + SqlDepartment.class.getName() + "')").close();
+    }
+
+    @Override
+    public void cleanup() {
+        hazelcastInstance.getMap(PERSONS_MAP).destroy();
+        hazelcastInstance.getMap(DEPARTMENTS_MAP).destroy();
+        super.cleanup();
+    }
+
+    public void testLiteralVersusParameterized() {
+        System.out.println("\n=== SQL Benchmark: literal vs parameterized statements over " + dataSize + " persons ===");
+        for (Query query : Query.values()) {
+            warmUp(query);
+            // The mode measured second benefits from the first one (caches, JIT), so the order alternates
+            long[] literalRows;
+            long[] parameterizedRows;
+            if (query.ordinal() % 2 == 0) {
+                literalRows = runQuery(query, Mode.LITERAL);
+                parameterizedRows = runQuery(query, Mode.PARAMETERIZED);
+            } else {
+                parameterizedRows = runQuery(query, Mode.PARAMETERIZED);
+                literalRows = runQuery(query, Mode.LITERAL);
+            }
+
+            LatencyRecorder literal = latencyRecorder("Sql-" + query + "-" + Mode.LITERAL + "-FirstRow");
+            LatencyRecorder parameterized = latencyRecorder("Sql-" + query + "-" + Mode.PARAMETERIZED + "-FirstRow");
+            boolean sameRows = Arrays.equals(literalRows, parameterizedRows);
+            String message = String.format(
+                    "%s planning overhead (first row p50 literal - parameterized): %.2fms, same rows in both modes: %b",
+                    query,
+                    (literal.getValueAtPercentile(50) - parameterized.getValueAtPercentile(50)) / 1_000_000.0,
+                    sameRows);
+
+            System.out.println((sameRows ? "✓ " : "✗ ") + message);
+            recordTestResult("Sql-" + query + "-PlanningOverhead", sameRows, message);
+        }
+    }
+
+    public void testCursorBufferSize() {
+        System.out.println("\n=== SQL Benchmark: cursor buffer size over " + dataSize + " persons ===");
+        SqlStatement statement = new SqlStatement("SELECT name, age, active, departmentId FROM persons WHERE age >= ?")
+                .setParameters(List.of(0));
+
+        for (int cursorBufferSize : cursorBufferSizes) {
+            String operation = "Sql-CursorBuffer-" + cursorBufferSize;
+            LatencyRecorder recorder = latencyRecorder(operation);
+            statement.setCursorBufferSize(cursorBufferSize);
+
+            boolean correct = true;
+            for (int r = 0; r < cursorRepetitions; r++) {
+                long start = System.nanoTime();
+                long rows = countRows(statement, start, null);
+                recorder.recordSince(start);
+                correct &= rows == dataSize;
+            }
+
+            String message = String.format(
+                    "cursorBufferSize=%d over %d rows: p50=%.1fms, p99=%.1fms, max=%.1fms, %.0f rows/s, all rows returned: %b",
+                    cursorBufferSize, dataSize,
+                    recorder.getValueAtPercentile(50) / 1_000_000.0,
+                    recorder.getValueAtPercentile(99) / 1_000_000.0,
+                    recorder.getMax() / 1_000_000.0,
+                    dataSize / (recorder.getValueAtPercentile(50) / 1_000_000_000.0),
+                    correct);
+
+            System.out.println((correct ? "✓ " : "✗ ") + message);
+            recordTestResult(operation, correct, message);
+        }
+    }
+
+    public void testExplicitVersusInferredMapping() {
+        System.out.println("\n=== SQL Benchmark: explicit vs inferred mapping over " + dataSize + " persons ===");
+        long expected = -1;
+        for (Mapping mapping : Mapping.values()) {
+            String mappingName = "persons_" + mapping.name().toLowerCase();
+            LatencyRecorder createRecorder = latencyRecorder("Sql-Mapping-" + mapping + "-Create");
+            LatencyRecorder queryRecorder = latencyRecorder("Sql-Mapping-" + mapping + "-Query");
+
+            for (int r = 0; r < repetitions; r++) {
+                long start = System.nanoTime();
+                hazelcastInstance.getSql().execute(mappingStatement(mapping, mappingName)).close();
+                createRecorder.recordSince(start);
+            }
+
+            SqlStatement statement = new SqlStatement("SELECT COUNT(*), SUM(age) FROM " + mappingName + " WHERE active = TRUE");
+            long sum = 0;
+            for (int r = 0; r < repetitions; r++) {
+                long start = System.nanoTime();
+                try (SqlResult result = hazelcastInstance.getSql().execute(statement)) {
+                    sum = result.iterator().next().<Long>getObject(1);
+                }
+                queryRecorder.recordSince(start);
+            }
+            hazelcastInstance.getSql().execute("DROP MAPPING IF EXISTS " + mappingName).close();
+
+            boolean correct = expected < 0 || sum == expected;
+            expected = sum;
+            String message = String.format(
+                    "%s mapping: CREATE p50=%.2fms, max=%.2fms, query p50=%.2fms, p99=%.2fms, same result as the explicit mapping: %b",
+                    mapping,
+                    createRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                    createRecorder.getMax() / 1_000_000.0,
+                    queryRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                    queryRecorder.getValueAtPercentile(99) / 1_000_000.0,
+                    correct);
+
+            System.out.println((correct ? "✓ " : "✗ ") + message);
+            recordTestResult("Sql-Mapping-" + mapping, correct, message);
+        }
+    }
+
+    /**
+     * Runs the query in both modes without measuring. The literal texts are prefixed with a comment, so their
+     * plans are not the ones the measured runs look up in the plan cache
+     */
+    private void warmUp(Query query) {
+        SqlStatement parameterized = query.parameterizedStatement();
+        for (int r = 0; r < warmupRepetitions; r++) {
+            countRows(new SqlStatement("/* warm-up " + r + " */ " + query.literalStatement(r).getSql()), 0, null);
+            countRows(parameterized.setParameters(List.of(query.parameters(r))), 0, null);
+        }
+    }
+
+    /**
+     * Runs the query in the given mode and returns the rows of every run, so that both modes can be compared
+     */
+    private long[] runQuery(Query query, Mode mode) {
+        String operation = "Sql-" + query + "-" + mode;
+        LatencyRecorder recorder = latencyRecorder(operation);
+        LatencyRecorder firstRowRecorder = latencyRecorder(operation + "-FirstRow");
+        SqlStatement parameterized = query.parameterizedStatement();
+
+        long[] rows = new long[repetitions];
+        long totalRows = 0;
+        long totalNanos = 0;
+        for (int r = 0; r < repetitions; r++) {
+            SqlStatement statement = mode == Mode.LITERAL
+                    ? query.literalStatement(r)
+                    : parameterized.setParameters(List.of(query.parameters(r)));
+            long start = System.nanoTime();
+            rows[r] = countRows(statement, start, firstRowRecorder);
+            long elapsed = System.nanoTime() - start;
+            recorder.record(elapsed);
+            totalRows += rows[r];
+            totalNanos += elapsed;
+        }
+
+        String message = String.format(
+                "%s %s: first row p50=%.2fms, total p50=%.2fms, p99=%.2fms, max=%.2fms, %.0f rows/s",
+                query, mode,
+                firstRowRecorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                totalNanos == 0 ? 0.0 : totalRows / (totalNanos / 1_000_000_000.0));
+
+        System.out.println("✓ " + message);
+        recordTestResult(operation, true, message);
+        return rows;
+    }
+
+    /**
+     * Iterates all rows of the statement, recording the time from start to the first row (or the end of an empty result)
+     */
+    private long countRows(SqlStatement statement, long start, LatencyRecorder firstRowRecorder) {
+        long rows = 0;
+        try (SqlResult result = hazelcastInstance.getSql().execute(statement)) {
+            Iterator<SqlRow> iterator = result.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                if (rows++ == 0 && firstRowRecorder != null) {
+                    firstRowRecorder.recordSince(start);
+                }
+            }
+        }
+        if (rows == 0 && firstRowRecorder != null) {
+            firstRowRecorder.recordSince(start);
+        }
+        return rows;
+    }
+
+    /**
+     * The explicit mapping lists every column and format, the inferred one lets Hazelcast sample an entry of the map
+     */
+    private static String mappingStatement(Mapping mapping, String mappingName) {
+        if (mapping == Mapping.INFERRED) {
+            return "CREATE OR REPLACE MAPPING " + mappingName + " EXTERNAL NAME \"" + PERSONS_MAP + "\" TYPE IMap";
+        }
+        return "CREATE OR REPLACE MAPPING " + mappingName + " EXTERNAL NAME \"" + PERSONS_MAP + "\" ("
+                + "__key INT, name VARCHAR, age INT, active BOOLEAN, departmentId VARCHAR) "
+                + "TYPE IMap OPTIONS ("
+                + "'keyFormat'='int', "
+                + "'valueFormat'='java', 'valueJavaClass'='" + IndexedPerson.class.getName() + "')";
+    }
+
+    /**
+     * Same shape as the Department2 record queried by QueryTest
+     */
+    public static class SqlDepartment implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+        private String name;
+        private String location;
+
+        public SqlDepartment(String id, String name, String location) {
+            this.id = id;
+            this.name = name;
+            this.location = location;
+        }
+
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getLocation() { return location; }
+    }
+}
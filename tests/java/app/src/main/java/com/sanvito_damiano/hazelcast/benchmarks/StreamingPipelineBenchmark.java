@@ -0,0 +1,145 @@
+package com.sanvito_damiano.hazelcast.benchmarks;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.Observable;
+import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.function.Observer;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.StreamStage;
+import com.hazelcast.jet.pipeline.WindowDefinition;
+import com.hazelcast.jet.pipeline.test.SimpleEvent;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
+
+/**
+ * Streaming counterpart of PipelineTest: an unbounded itemStream source feeds a pass-through stage,
+ * a tumbling window and a sliding window. An observable sink sends event timestamps (or window ends)
+ * back to the client, which records the event-to-sink latency for every configured event rate and
+ * reports the highest rate whose p99 latency stays below the limit
+ */
+public class StreamingPipelineBenchmark extends AbstractBenchmark {
+
+    private enum PipelineKind { PASS_THROUGH, TUMBLING_WINDOW, SLIDING_WINDOW }
+
+    private static final int[] eventRates = intParameters("stream.rates", 1_000, 10_000, 100_000, 500_000);
+    private static final int durationSeconds = intParameter("stream.duration", 10);
+    private static final int warmupSeconds = intParameter("stream.warmup", 2);
+    private static final int windowMillis = intParameter("stream.window.millis", 1000);
+    private static final int slideMillis = intParameter("stream.slide.millis", 100);
+    // Only one event out of this many is sent to the client by the pass-through pipeline
+    private static final int sampleEvery = intParameter("stream.sample.every", 100);
+    private static final int maxP99Millis = intParameter("stream.max.p99.millis", 1000);
+
+    public StreamingPipelineBenchmark(HazelcastInstance hazelcastInstance, String testCategory) {
+        super(hazelcastInstance, testCategory);
+    }
+
+    public void testPassThroughLatency() throws InterruptedException {
+        runAllRates(PipelineKind.PASS_THROUGH);
+    }
+
+    public void testTumblingWindowLatency() throws InterruptedException {
+        runAllRates(PipelineKind.TUMBLING_WINDOW);
+    }
+
+    public void testSlidingWindowLatency() throws InterruptedException {
+        runAllRates(PipelineKind.SLIDING_WINDOW);
+    }
+
+    private void runAllRates(PipelineKind kind) throws InterruptedException {
+        System.out.println("\n=== Streaming Pipeline Benchmark: " + kind + " ===");
+
+        int sustainedRate = 0;
+        for (int rate : eventRates) {
+            long p99Millis = runRate(kind, rate);
+            if (p99Millis >= 0 && p99Millis <= maxP99Millis) {
+                sustainedRate = Math.max(sustainedRate, rate);
+            }
+        }
+
+        String message = sustainedRate > 0
+                ? String.format("%s sustains %d events/s with p99 latency below %dms on %d members", kind, sustainedRate, maxP99Millis, getMemberCount())
+                : String.format("%s could not keep p99 latency below %dms at any of the tested rates", kind, maxP99Millis);
+        System.out.println((sustainedRate > 0 ? "✓ " : "✗ ") + message);
+        recordTestResult("StreamingPipeline-" + kind + "-SustainedRate", sustainedRate > 0, message);
+    }
+
+    /**
+     * Runs the pipeline at the given rate and returns its p99 latency in milliseconds, -1 when no result arrived
+     */
+    private long runRate(PipelineKind kind, int rate) throws InterruptedException {
+        String operation = "StreamingPipeline-" + kind + "-" + rate;
+        LatencyRecorder recorder = latencyRecorder(operation);
+
+        Observable<Long> observable = hazelcastInstance.getJet().newObservable();
+        long recordFrom = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(warmupSeconds);
+        observable.addObserver(Observer.of(timestamp -> {
+            long now = System.currentTimeMillis();
+            if (now >= recordFrom) {
+                recorder.record(TimeUnit.MILLISECONDS.toNanos(now - timestamp));
+            }
+        }));
+
+        Job job = hazelcastInstance.getJet().newJob(createPipeline(kind, rate, observable));
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds + durationSeconds));
+        job.cancel();
+        try {
+            job.join();
+        } catch (CancellationException e) {
+            // Expected, streaming jobs only end when cancelled
+        }
+        observable.destroy();
+
+        boolean received = recorder.getCount() > 0;
+        long p99Millis = received ? TimeUnit.NANOSECONDS.toMillis(recorder.getValueAtPercentile(99)) : -1;
+        String message = String.format(
+                "%s at %d events/s: %d results, p50=%.1fms, p99=%.1fms, max=%.1fms%s",
+                kind, rate, recorder.getCount(),
+                recorder.getValueAtPercentile(50) / 1_000_000.0,
+                recorder.getValueAtPercentile(99) / 1_000_000.0,
+                recorder.getMax() / 1_000_000.0,
+                received && p99Millis > maxP99Millis ? " (p99 above the " + maxP99Millis + "ms limit)" : "");
+
+        System.out.println((received ? "✓ " : "✗ ") + message);
+        recordTestResult(operation, received, message);
+        return p99Millis;
+    }
+
+    /**
+     * The pipelines emit the timestamp the latency is measured from: the event timestamp for the
+     * pass-through stage and the window end for the windowed ones
+     */
+    private Pipeline createPipeline(PipelineKind kind, int rate, Observable<Long> observable) {
+        Pipeline pipeline = Pipeline.create();
+        StreamStage<SimpleEvent> events = pipeline.readFrom(TestSources.itemStream(rate))
+                .withNativeTimestamps(0);
+
+        switch (kind) {
+            case PASS_THROUGH:
+                events.filter(event -> event.sequence() % sampleEvery == 0)
+                      .map(SimpleEvent::timestamp)
+                      .writeTo(Sinks.observable(observable));
+                break;
+            case TUMBLING_WINDOW:
+                events.window(WindowDefinition.tumbling(windowMillis))
+                      .aggregate(AggregateOperations.counting())
+                      .map(result -> result.end())
+                      .writeTo(Sinks.observable(observable));
+                break;
+            case SLIDING_WINDOW:
+                events.window(WindowDefinition.sliding(windowMillis, slideMillis))
+                      .aggregate(AggregateOperations.counting())
+                      .map(result -> result.end())
+                      .writeTo(Sinks.observable(observable));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pipeline: " + kind);
+        }
+        return pipeline;
+    }
+}
@@ -1,7 +1,13 @@
 package com.sanvito_damiano.hazelcast.tests;
 
+import java.util.function.Supplier;
+
+import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
+import com.sanvito_damiano.hazelcast.ClusterProfile;
+import com.sanvito_damiano.hazelcast.LatencyRecorder;
 import com.sanvito_damiano.hazelcast.TestReporter;
+import com.sanvito_damiano.hazelcast.TimeSeries;
 
 /**
  * Abstract base class for Hazelcast tests
@@ -10,6 +16,7 @@ public abstract class AbstractTest {
     protected HazelcastInstance hazelcastInstance;
     protected TestReporter reporter;
     protected String testCategory;
+    protected ClusterProfile clusterProfile = ClusterProfile.DEFAULT;
     
     public AbstractTest(HazelcastInstance hazelcastInstance, String testCategory) {
         this.hazelcastInstance = hazelcastInstance;
@@ -24,6 +31,20 @@ public abstract class AbstractTest {
     public abstract void reset();
 
     public abstract void cleanup();
+
+    /**
+     * Set the cluster this suite runs against, used when the suite starts extra members
+     */
+    public void setClusterProfile(ClusterProfile clusterProfile) {
+        this.clusterProfile = clusterProfile;
+    }
+
+    /**
+     * Create the configuration for an extra member joining the suite's cluster
+     */
+    protected Config createMemberConfig(String instanceName) {
+        return clusterProfile.createMemberConfig(instanceName);
+    }
     
     /**
      * Records a test result
@@ -31,6 +52,53 @@ public abstract class AbstractTest {
     public void recordTestResult(String testName, boolean success, String message) {
         reporter.recordResult(testName, success, message);
     }
+
+    /**
+     * Records a test that could not run in this environment
+     */
+    public void recordSkippedTest(String testName, String reason) {
+        reporter.recordSkipped(testName, reason);
+    }
+    
+    /**
+     * Returns the latency recorder for an operation, latencies are written next to the CSV report
+     */
+    public LatencyRecorder latencyRecorder(String operation) {
+        return reporter.getLatencyRecorder(operation);
+    }
+
+    /**
+     * Returns the time series with the given name, every series is written to its own CSV file
+     */
+    public TimeSeries timeSeries(String name) {
+        return reporter.getTimeSeries(name);
+    }
+
+    /**
+     * Runs the action and records its latency under the given operation name
+     */
+    protected <T> T timeOperation(String operation, Supplier<T> action) {
+        LatencyRecorder recorder = reporter.getLatencyRecorder(operation);
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recorder.recordSince(start);
+        }
+    }
+
+    /**
+     * Runs the action and records its latency under the given operation name
+     */
+    protected void timeOperation(String operation, Runnable action) {
+        LatencyRecorder recorder = reporter.getLatencyRecorder(operation);
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            recorder.recordSince(start);
+        }
+    }
     
     /**
      * Generate a report for this test class
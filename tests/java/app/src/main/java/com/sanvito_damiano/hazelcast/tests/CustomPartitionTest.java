@@ -1,5 +1,6 @@
 package com.sanvito_damiano.hazelcast.tests;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -18,11 +19,15 @@ import com.hazelcast.partition.Partition;
 import com.hazelcast.partition.PartitionAware;
 import com.hazelcast.partition.PartitionService;
 import com.hazelcast.partition.PartitioningStrategy;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.KeySkew;
 
 public class CustomPartitionTest extends AbstractTest {
 
     private static final int[] partitionCounts = {100, 500, 1000, 5000, 10000};
 
+    public static final String[] REGIONS = {"EU", "US", "ASIA", "AF"};
+
     private HazelcastInstance memberInstance1;
     @SuppressWarnings("unused")
     private HazelcastInstance memberInstance2;
@@ -41,7 +46,7 @@ public class CustomPartitionTest extends AbstractTest {
         MapConfig mapConfig = new MapConfig("custom-partitioned-map");
         //mapConfig.setPartitioningStrategyConfig(
         //        new com.hazelcast.config.PartitioningStrategyConfig(
-        //                "com.sanvito_damiano.hazelcast.tests.RegionBasedPartitioningStrategy"));
+        //                "com.sanvito_damiano.hazelcast.tests.CustomPartitionTest$RegionBasedPartitioningStrategy"));
         
         // Configure first member
         Config config1 = new Config();
@@ -101,16 +106,16 @@ public class CustomPartitionTest extends AbstractTest {
         
         // Insert data with regional prefixes
         System.out.println("Inserting region-based data...");
-        String[] regions = {"EU", "US", "ASIA", "AF"};
-        for (String region : regions) {
-            for (int i = 0; i < dataSize; i++) {
-                RegionAwareKey regionAwareKey = new RegionAwareKey(region, "key-" + i);
-                distributedMap.put(regionAwareKey, "value-" + i);
+        try (BulkLoader<RegionAwareKey, String> loader = new BulkLoader<>(hazelcastInstance, distributedMap)) {
+            for (String region : REGIONS) {
+                for (int i = 0; i < dataSize; i++) {
+                    loader.add(new RegionAwareKey(region, "key-" + i), "value-" + i);
+                }
             }
         }
         
         // Analyze data distribution
-        Map<String, Object> customPartitioningResults = analyzeCustomPartitioning(regions, dataSize);
+        Map<String, Object> customPartitioningResults = analyzeCustomPartitioning(REGIONS, dataSize);
 
         StringBuilder message = new StringBuilder();
         message.append("Custom partitioning results for ").append(dataSize).append(" keys per region: ");
@@ -123,6 +128,33 @@ public class CustomPartitionTest extends AbstractTest {
         recordTestResult("CustomPartitioningTest-with-" + dataSize + "-keys-per-region", true, message.toString());
     }
 
+    public void testKeyDistributionSkew() {
+        for (int dataSize : partitionCounts) {
+            System.out.println("\n=== Testing Key Distribution Skew with " + dataSize + " keys per region ===");
+            for (KeyScheme scheme : KeyScheme.values()) {
+                KeySkew skew = analyzeKeySkew(hazelcastInstance.getPartitionService(), scheme, dataSize);
+                String message = scheme + " with " + dataSize + " keys per region: " + skew;
+                System.out.println(message);
+                recordTestResult("KeyDistributionSkew-" + scheme + "-with-" + dataSize + "-keys-per-region",
+                        skew.getTotalEntries() == (long) dataSize * REGIONS.length, message);
+            }
+        }
+    }
+
+    /**
+     * Places the keys the scheme generates for every region, each entry is sized as its key plus a "value-i" value
+     */
+    public static KeySkew analyzeKeySkew(PartitionService partitionService, KeyScheme scheme, int keysPerRegion) {
+        KeySkew skew = new KeySkew(partitionService, scheme.strategy());
+        for (String region : REGIONS) {
+            for (int i = 0; i < keysPerRegion; i++) {
+                Object key = scheme.key(region, i);
+                skew.add(key, key.toString().length() + ("value-" + i).length());
+            }
+        }
+        return skew;
+    }
+
     /**
      * Analyze how data is distributed using the custom strategy
      */
@@ -269,64 +301,82 @@ public class CustomPartitionTest extends AbstractTest {
         
         return results;
     }
-}
 
-    
-/**
- * Custom partitioning strategy based on region we won't use this in the test
- * but it can be used to handle custom partitioning
- */
-class RegionBasedPartitioningStrategy implements PartitioningStrategy<Object> {
-    @Override
-    public Object getPartitionKey(Object key) {
-        if (key instanceof String) {
-            String stringKey = (String) key;
-            // If the key starts with a regional prefix, use the prefix for partitioning
-            if (stringKey.startsWith("EU-") || 
-                stringKey.startsWith("US-") || 
-                stringKey.startsWith("ASIA-") || 
-                stringKey.startsWith("AF-")) {
-                return stringKey.substring(0, stringKey.indexOf('-'));
-            }
+    /**
+     * The ways keys of a region can be placed: hashed on the whole key, grouped by region through the
+     * map's PartitioningStrategy, or grouped by region through a PartitionAware key
+     */
+    public enum KeyScheme {
+        DEFAULT, PARTITIONING_STRATEGY, PARTITION_AWARE;
+
+        public Object key(String region, int index) {
+            return this == PARTITION_AWARE ? new RegionAwareKey(region, "key-" + index) : region + "-key-" + index;
         }
-        // Otherwise use the key itself
-        return key;
-    }
-}
 
-/**
- * Class to test partitioning through PartitionAware
- */
-class RegionAwareKey implements PartitionAware<String> {
-    private final String region;
-    private final String key;
-    
-    public RegionAwareKey(String region, String key) {
-        this.region = region;
-        this.key = key;
-    }
-    
-    @Override
-    public String getPartitionKey() {
-        return region; // Partition by region
-    }
-    
-    // ✅ AGGIUNTA: Implementa equals e hashCode
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        RegionAwareKey that = (RegionAwareKey) obj;
-        return region.equals(that.region) && key.equals(that.key);
+        /**
+         * The strategy to configure on the map, null for the default partitioning
+         */
+        public PartitioningStrategy<Object> strategy() {
+            return this == PARTITIONING_STRATEGY ? new RegionBasedPartitioningStrategy() : null;
+        }
     }
-    
-    @Override
-    public int hashCode() {
-        return region.hashCode() * 31 + key.hashCode();
+
+    /**
+     * Custom partitioning strategy based on region, the map in setup does not use it but the skew
+     * analysis and HotRegionBenchmark do
+     */
+    public static class RegionBasedPartitioningStrategy implements PartitioningStrategy<Object> {
+        @Override
+        public Object getPartitionKey(Object key) {
+            if (key instanceof String) {
+                String stringKey = (String) key;
+                // If the key starts with a regional prefix, use the prefix for partitioning
+                if (stringKey.startsWith("EU-") || 
+                    stringKey.startsWith("US-") || 
+                    stringKey.startsWith("ASIA-") || 
+                    stringKey.startsWith("AF-")) {
+                    return stringKey.substring(0, stringKey.indexOf('-'));
+                }
+            }
+            // Otherwise use the key itself
+            return key;
+        }
     }
-    
-    @Override
-    public String toString() {
-        return region + "-" + key;
+
+    /**
+     * Class to test partitioning through PartitionAware
+     */
+    public static class RegionAwareKey implements PartitionAware<String>, Serializable {
+        private final String region;
+        private final String key;
+
+        public RegionAwareKey(String region, String key) {
+            this.region = region;
+            this.key = key;
+        }
+
+        @Override
+        public String getPartitionKey() {
+            return region; // Partition by region
+        }
+
+        // ✅ AGGIUNTA: Implementa equals e hashCode
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            RegionAwareKey that = (RegionAwareKey) obj;
+            return region.equals(that.region) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return region.hashCode() * 31 + key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return region + "-" + key;
+        }
     }
 }
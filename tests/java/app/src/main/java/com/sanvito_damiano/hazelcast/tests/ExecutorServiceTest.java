@@ -4,13 +4,23 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.IExecutorService;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.partition.Partition;
 import com.hazelcast.cluster.Member;
+import com.sanvito_damiano.hazelcast.ScatterGather;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test class to demonstrate Hazelcast Executor Service functionality
@@ -135,6 +145,84 @@ public class ExecutorServiceTest extends AbstractTest {
         map.destroy();
     }
     
+    // Test 7: Local scan task iterating the owned partitions
+    public void testLocalScanProcessing() throws InterruptedException, ExecutionException {
+        System.out.println("\n=== Test Local Scan Task ===");
+        
+        // Create a distributed map and populate it with test data
+        IMap<String, Integer> map = hazelcastInstance.getMap("map");
+        for (int i = 1; i <= 100; i++) {
+            map.put("key-" + i, i); // Values are just the keys
+        }
+        
+        Map<Member, Future<Integer>> results = executor.submitToAllMembers(new LocalScanTask());
+        
+        int totalSum = 0;
+        for (Map.Entry<Member, Future<Integer>> entry : results.entrySet()) {
+            Member member = entry.getKey();
+            Integer partialSum = entry.getValue().get();
+            totalSum += partialSum;
+            System.out.println("Member " + member.getAddress() + " scanned its partitions and returned: " + partialSum);
+        }
+        
+        System.out.println("Total sum across all members: " + totalSum);
+        
+        // Verify result
+        int expectedSum = (100 * 101) / 2; // Sum of numbers from 1 to 100
+        boolean testPassed = (totalSum == expectedSum);
+        
+        recordTestResult("Local Scan Task", testPassed, 
+            "Expected sum: " + expectedSum + ", Actual sum: " + totalSum);
+        map.destroy();
+    }
+    
+    // Test 8: Scatter-gather on all members and on key owners, merging results as they arrive
+    public void testScatterGather() throws InterruptedException, ExecutionException {
+        System.out.println("\n=== Test Scatter-Gather ===");
+        
+        // Create a distributed map and populate it with test data
+        IMap<String, Integer> map = hazelcastInstance.getMap("map");
+        for (int i = 1; i <= 100; i++) {
+            map.put("key-" + i, i); // Values are just the keys
+        }
+        
+        AtomicInteger partialResults = new AtomicInteger();
+        int totalSum = new ScatterGather<Integer, Integer>(0, Integer::sum)
+                .onPartialResult(partial -> {
+                    partialResults.incrementAndGet();
+                    System.out.println("Partial sum received: " + partial);
+                })
+                .submitToAllMembers(executor, new LocalScanTask())
+                .get();
+        
+        int expectedSum = (100 * 101) / 2; // Sum of numbers from 1 to 100
+        int memberCount = hazelcastInstance.getCluster().getMembers().size();
+        boolean allMembersPassed = totalSum == expectedSum && partialResults.get() == memberCount;
+        System.out.println("Total sum across all members: " + totalSum + " from " + partialResults.get() + " partial results");
+        
+        recordTestResult("Scatter-Gather All Members", allMembersPassed, 
+            "Expected sum: " + expectedSum + ", Actual sum: " + totalSum + 
+            ", partial results: " + partialResults.get() + " of " + memberCount);
+        
+        // One task per key, each one runs on the owner of its key
+        Map<String, KeyAwareTask> tasksByKey = new HashMap<>();
+        for (int i = 1; i <= 10; i++) {
+            tasksByKey.put("key-" + i, new KeyAwareTask("key-" + i));
+        }
+        List<String> replies = new ScatterGather<String, List<String>>(new ArrayList<>(), (list, reply) -> {
+                    list.add(reply);
+                    return list;
+                })
+                .submitToKeyOwners(executor, tasksByKey)
+                .get();
+        replies.forEach(System.out::println);
+        
+        boolean keyOwnersPassed = replies.size() == tasksByKey.size();
+        recordTestResult("Scatter-Gather Key Owners", keyOwnersPassed, 
+            "Expected replies: " + tasksByKey.size() + ", Actual replies: " + replies.size());
+        map.destroy();
+    }
+    
     // Task classes
     
     /**
@@ -209,7 +297,7 @@ public class ExecutorServiceTest extends AbstractTest {
     /**
      * Task that sums values from a distributed map
      */
-    static class SumTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
+    public static class SumTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
 
         private transient HazelcastInstance hazelcastInstance;
 
@@ -232,7 +320,7 @@ public class ExecutorServiceTest extends AbstractTest {
     /**
      * Task that processes data locally on each member to optimize performance
      */
-    static class LocalDataProcessingTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
+    public static class LocalDataProcessingTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
         private transient HazelcastInstance hazelcastInstance;
         
         public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
@@ -260,4 +348,73 @@ public class ExecutorServiceTest extends AbstractTest {
             return sum;
         }
     }
+
+    /**
+     * Task that sums the local data by iterating the entries of the partitions owned by the member,
+     * instead of collecting the local keys and looking each one up again with get().
+     *
+     * The per-partition iterator is only offered by MapProxyImpl, which is internal API: it is what members
+     * return from getMap() in this Hazelcast version. Any other proxy falls back to the public path, the local
+     * keys read back with getAll() in batches
+     */
+    public static class LocalScanTask implements Callable<Integer>, Serializable, HazelcastInstanceAware {
+        private static final int FETCH_SIZE = 1000;
+
+        private transient HazelcastInstance hazelcastInstance;
+        
+        public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+            this.hazelcastInstance = hazelcastInstance;
+        }
+        
+        @Override
+        public Integer call() {
+            IMap<String, Integer> map = hazelcastInstance.getMap("map");
+            Member localMember = hazelcastInstance.getCluster().getLocalMember();
+            
+            int sum = 0;
+            int processedItems = 0;
+            
+            if (map instanceof MapProxyImpl) {
+                MapProxyImpl<String, Integer> proxy = (MapProxyImpl<String, Integer>) map;
+                for (Partition partition : hazelcastInstance.getPartitionService().getPartitions()) {
+                    if (!localMember.equals(partition.getOwner())) {
+                        continue;
+                    }
+                    // Entries and values are fetched in batches straight from the local record store
+                    Iterator<Map.Entry<String, Integer>> entries = proxy.iterator(FETCH_SIZE, partition.getPartitionId(), true);
+                    while (entries.hasNext()) {
+                        sum += entries.next().getValue();
+                        processedItems++;
+                    }
+                }
+            } else {
+                Set<String> batch = new HashSet<>();
+                for (String key : map.localKeySet()) {
+                    batch.add(key);
+                    if (batch.size() == FETCH_SIZE) {
+                        sum += sumValues(map, batch);
+                        processedItems += batch.size();
+                        batch.clear();
+                    }
+                }
+                sum += sumValues(map, batch);
+                processedItems += batch.size();
+            }
+            
+            System.out.println("Member " + localMember.getAddress() + " scanned " + 
+                              processedItems + " local entries");
+            
+            return sum;
+        }
+
+        private static int sumValues(IMap<String, Integer> map, Set<String> keys) {
+            int sum = 0;
+            if (!keys.isEmpty()) {
+                for (Integer value : map.getAll(keys).values()) {
+                    sum += value;
+                }
+            }
+            return sum;
+        }
+    }
 }
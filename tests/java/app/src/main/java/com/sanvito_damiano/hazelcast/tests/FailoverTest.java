@@ -3,10 +3,13 @@ package com.sanvito_damiano.hazelcast.tests;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.core.Hazelcast;
@@ -17,12 +20,20 @@ import com.hazelcast.query.Predicates;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlService;
 import com.hazelcast.sql.SqlRow;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.TimeSeries;
 
 public class FailoverTest extends AbstractTest {
 
+    // Query runs before the node leaves (reference latency) and after it (recovery)
+    private static final long BASELINE_MILLIS = 2000;
+    private static final long OBSERVATION_MILLIS = 10000;
+
     private IMap<String, Person> personMap;
     private IMap<String, Department> departmentMap;
     private SqlService sqlService;
+    private int expectedJoinRows;
 
     public FailoverTest(HazelcastInstance hazelcastInstance, String testCategory) {
         super(hazelcastInstance, testCategory);
@@ -35,7 +46,7 @@ public class FailoverTest extends AbstractTest {
         sqlService = hazelcastInstance.getSql();
 
         sqlService.execute("""
-            CREATE OR REPLACE EXTERNAL MAPPING "hazelcast"."public"."persons" EXTERNAL NAME "persons"
+            CREATE OR REPLACE EXTERNAL MAPPING "hazelcast"."public"."persons" EXTERNAL NAME "person-map"
             TYPE "IMap"
             OPTIONS (
             'keyFormat'='java',
@@ -46,7 +57,7 @@ public class FailoverTest extends AbstractTest {
         """);
 
         sqlService.execute("""
-            CREATE OR REPLACE EXTERNAL MAPPING "hazelcast"."public"."departments" EXTERNAL NAME "departments"
+            CREATE OR REPLACE EXTERNAL MAPPING "hazelcast"."public"."departments" EXTERNAL NAME "department-map"
             TYPE "IMap"
             OPTIONS (
             'keyFormat'='java',
@@ -77,8 +88,17 @@ public class FailoverTest extends AbstractTest {
         personMap.put("p7", new Person("Grace", 29, false, "D2"));
         personMap.put("p8", new Person("Helen", 45, true, "D4"));
         // Add more data to ensure sufficient load
-        for (int i = 9; i <= 100; i++) {
-            personMap.put("p" + i, new Person("Person" + i, 20 + (i % 30), i % 2 == 0, "D" + (i % 4 + 1)));
+        try (BulkLoader<String, Person> loader = new BulkLoader<>(hazelcastInstance, personMap)) {
+            for (int i = 9; i <= 100; i++) {
+                loader.add("p" + i, new Person("Person" + i, 20 + (i % 30), i % 2 == 0, "D" + (i % 4 + 1)));
+            }
+        }
+        // Persons of D4 have no department to join with
+        expectedJoinRows = 0;
+        for (Person person : personMap.values()) {
+            if (departmentMap.containsKey(person.getDepartmentId())) {
+                expectedJoinRows++;
+            }
         }
     }
 
@@ -92,10 +112,7 @@ public class FailoverTest extends AbstractTest {
     }
 
     private HazelcastInstance createNewHazelcastInstance() {
-        Config config = new Config();
-        config.getJetConfig().setEnabled(true);
-        config.setInstanceName("special_member");
-        config.setProperty("hazelcast.logging.type", "log4j2");
+        Config config = createMemberConfig("special_member");
         return Hazelcast.newHazelcastInstance(config);
     }
     
@@ -105,85 +122,7 @@ public class FailoverTest extends AbstractTest {
      */
     public void testSqlQueryDuringNodeShutdown() throws InterruptedException {
         System.out.println("\n=== Testing SQL Query During Node Shutdown ===");
-
-        HazelcastInstance nodeToShutdown = createNewHazelcastInstance();
-
-        Thread.sleep(5000); // Wait for the new node to join the cluster
-        
-        final AtomicBoolean runThread = new AtomicBoolean(true);
-        final CountDownLatch queryStarted = new CountDownLatch(1);
-        final CountDownLatch queryRunOnce = new CountDownLatch(1);
-        final AtomicBoolean querySucceeded = new AtomicBoolean(false);
-        
-        // Start long-running query in a separate thread
-        Thread queryThread = new Thread(() -> {
-            try {
-                System.out.println("Starting complex SQL query...");
-                queryStarted.countDown();
-                
-                do {
-                    // Complex query involving joins and aggregations to ensure it takes some time
-                    try (SqlResult result = sqlService.execute("""
-                        SELECT p.name, d.name as department_name
-                        FROM persons p
-                        JOIN departments d ON p.departmentId = d.id
-                    """)) {
-                        // Process results
-                        List<SqlRow> rows = new ArrayList<>();
-                        result.iterator().forEachRemaining(rows::add);
-                        
-                        System.out.println("Query completed successfully with " + rows.size() + " rows");
-                        
-                        if (rows.size() == 8) {
-                            querySucceeded.set(true);
-                            System.out.println("Expected result found in query output");
-                        } else {
-                            querySucceeded.set(false);
-                            System.out.println("Expected result not found in query output");
-                        }
-                        queryRunOnce.countDown();
-                    }
-                } while (runThread.get());
-            } catch (Exception e) {
-                querySucceeded.set(false);
-                System.out.println("Query failed: " + e.getMessage());
-            }
-        });
-        
-        // Wait for query to start
-        try {
-            queryThread.start();
-            boolean started = queryStarted.await(10, TimeUnit.SECONDS);
-            if (!started) {
-                System.out.println("⚠ Query did not start within timeout");
-                recordTestResult("Failover-SqlQueryShutdown", false, "Query did not start within timeout");
-                return;
-            }
-            queryRunOnce.await(10, TimeUnit.SECONDS); // Ensure query runs at least once
-        
-            nodeToShutdown.shutdown();
-
-            runThread.set(false); // Stop the query thread after shutdown
-
-            Thread.sleep(2000); // Allow some time for the node to shutdown
-
-            queryThread.join(4000); // Wait for the query thread to finish
-            
-            boolean testResult = querySucceeded.get();
-            if (testResult) {
-                System.out.println("✓ SQL query completed successfully despite node shutdown");
-            } else {
-                System.out.println("✗ SQL query failed during node shutdown");
-            }
-            
-            recordTestResult("Failover-SqlQueryShutdown", testResult, 
-                    testResult ? "SQL query was resilient to node shutdown" : 
-                                "SQL query failed during node shutdown");
-            
-        } catch (Exception e) {
-            System.out.println("✗ Test failed with exception: " + e.getMessage());
-            recordTestResult("Failover-SqlQueryShutdown", false, "Test failed with exception: " + e.getMessage());
-        }
+        runFailoverScenario("Failover-SqlQueryShutdown", "SQL query", false, this::runJoinQuery);
     }
     
     /**
@@ -192,267 +131,215 @@ public class FailoverTest extends AbstractTest {
      */
     public void testSqlQueryDuringNodeTermination() throws InterruptedException {
         System.out.println("\n=== Testing SQL Query During Node Termination ===");
-
-        HazelcastInstance nodeToTerminate = createNewHazelcastInstance();
-
-        Thread.sleep(5000); // Wait for the new node to join the cluster
-        
-        final AtomicBoolean runThread = new AtomicBoolean(true);
-        final CountDownLatch queryStarted = new CountDownLatch(1);
-        final CountDownLatch queryRunOnce = new CountDownLatch(1);
-        final AtomicBoolean querySucceeded = new AtomicBoolean(false);
-        
-        // Start long-running query in a separate thread
-        Thread queryThread = new Thread(() -> {
-            try {
-                System.out.println("Starting complex SQL query...");
-                queryStarted.countDown();
-                
-                do {
-                    // Complex query involving joins and aggregations to ensure it takes some time
-                    try (SqlResult result = sqlService.execute("""
-                        SELECT p.name, d.name as department_name
-                        FROM persons p
-                        JOIN departments d ON p.departmentId = d.id
-                    """)) {
-                        // Process results
-                        List<SqlRow> rows = new ArrayList<>();
-                        result.iterator().forEachRemaining(rows::add);
-                        
-                        System.out.println("Query completed successfully with " + rows.size() + " rows");
-                        
-                        if (rows.size() == 8) {
-                            querySucceeded.set(true);
-                            System.out.println("Expected result found in query output");
-                        } else {
-                            querySucceeded.set(false);
-                            System.out.println("Expected result not found in query output");
-                        }
-                        queryRunOnce.countDown();
-                    }
-                } while (runThread.get());
-            } catch (Exception e) {
-                System.out.println("Query failed: " + e.getMessage());
-            }
-        });
-        
-        // Wait for query to start
-        try {
-            queryThread.start();
-            boolean started = queryStarted.await(10, TimeUnit.SECONDS);
-            if (!started) {
-                System.out.println("⚠ Query did not start within timeout");
-                recordTestResult("Failover-SqlQueryTermination", false, "Query did not start within timeout");
-                return;
-            }
-        
-            queryRunOnce.await(10, TimeUnit.SECONDS); // Ensure query runs at least once
-
-            nodeToTerminate.getLifecycleService().terminate();
-
-            runThread.set(false); // Stop the query thread after termination
-
-            Thread.sleep(2000); // Allow some time for the node to terminate
-
-            queryThread.join(4000); // Wait for the query thread to finish
-            
-            boolean testResult = querySucceeded.get();
-            if (testResult) {
-                System.out.println("✓ SQL query completed successfully despite node termination");
-            } else {
-                System.out.println("✗ SQL query failed during node termination");
-            }
-            
-            recordTestResult("Failover-SqlQueryTermination", testResult, 
-                    testResult ? "SQL query was resilient to node termination" : 
-                                "SQL query failed during node termination");
-            
-        } catch (Exception e) {
-            System.out.println("✗ Test failed with exception: " + e.getMessage());
-            recordTestResult("Failover-SqlQueryTermination", false, "Test failed with exception: " + e.getMessage());
-        }
+        runFailoverScenario("Failover-SqlQueryTermination", "SQL query", true, this::runJoinQuery);
     }
     
     /**
-        * Tests Predicate API query resilience when a node is shutdown during query execution
+     * Tests Predicate API query resilience when a node is shutdown during query execution
      * @throws InterruptedException 
-        */
+     */
     public void testPredicateQueryDuringNodeShutdown() throws InterruptedException {
         System.out.println("\n=== Testing Predicate API Query During Node Shutdown ===");
+        runFailoverScenario("Failover-PredicateQueryShutdown", "Predicate query", false, this::runPredicateQuery);
+    }
+    
+    /**
+     * Tests Predicate API query resilience when a node is terminated during query execution
+     * @throws InterruptedException 
+     */
+    public void testPredicateQueryDuringNodeTermination() throws InterruptedException {
+        System.out.println("\n=== Testing Predicate API Query During Node Termination ===");
+        runFailoverScenario("Failover-PredicateQueryTermination", "Predicate query", true, this::runPredicateQuery);
+    }
+
+    /**
+     * Joins persons and departments, returns true when every person with an existing department is found
+     */
+    private boolean runJoinQuery() {
+        // Complex query involving joins and aggregations to ensure it takes some time
+        try (SqlResult result = sqlService.execute("""
+            SELECT p.name, d.name as department_name
+            FROM persons p
+            JOIN departments d ON p.departmentId = d.id
+        """)) {
+            List<SqlRow> rows = new ArrayList<>();
+            result.iterator().forEachRemaining(rows::add);
+            return rows.size() == expectedJoinRows;
+        }
+    }
+
+    /**
+     * Runs a complex predicate, returns true when only Bob matches
+     */
+    private boolean runPredicateQuery() {
+        Predicate<String, Person> complexPredicate = Predicates.or(
+            Predicates.and(
+                Predicates.equal("age", 25),
+                Predicates.equal("active", true)
+            ),
+            Predicates.and(
+                Predicates.lessThan("age", 20),
+                Predicates.equal("departmentId", "D3")
+            )
+        );
 
-        HazelcastInstance nodeToShutdown = createNewHazelcastInstance();
+        Collection<Person> results = personMap.values(complexPredicate);
+        return results.size() == 1 && results.iterator().next().getName().equals("Bob");
+    }
 
-        Thread.sleep(5000); // Wait for the new node to join the cluster
-        
+    /**
+     * Runs the query in a loop while a new node joins and then leaves the cluster, either gracefully or
+     * by termination. Every run is recorded in a time series (written as CSV next to the report) and runs that
+     * throw are retried immediately, so the timeline shows the unavailability window and the latency spike.
+     * Runs that complete with the wrong rows count as available and are reported separately.
+     */
+    private void runFailoverScenario(String testName, String queryName, boolean terminate, BooleanSupplier query)
+            throws InterruptedException {
+        HazelcastInstance node = createNewHazelcastInstance();
+
+        // Wait until the client sees the new node and its partitions are in place
+        ClusterAwaiter.awaitMember(hazelcastInstance, node.getCluster().getLocalMember().getUuid(), true);
+        ClusterAwaiter.awaitClusterSafe(hazelcastInstance);
+
+        final TimeSeries timeline = timeSeries(testName);
         final AtomicBoolean runThread = new AtomicBoolean(true);
-        final CountDownLatch queryStarted = new CountDownLatch(1);
         final CountDownLatch queryRunOnce = new CountDownLatch(1);
         final AtomicBoolean querySucceeded = new AtomicBoolean(false);
-        
-        // Start long-running query in a separate thread
+        final AtomicInteger wrongResults = new AtomicInteger();
+
         Thread queryThread = new Thread(() -> {
-            try {
-                System.out.println("Starting complex Predicate query...");
-                queryStarted.countDown();
-                
-                do {
-                    // Create a complex predicate to ensure the query takes some time
-                    Predicate<String, Person> complexPredicate = Predicates.or(
-                        Predicates.and(
-                            Predicates.equal("age", 25),
-                            Predicates.equal("active", true)
-                        ),
-                        Predicates.and(
-                            Predicates.lessThan("age", 20),
-                            Predicates.equal("departmentId", "D3")
-                        )
-                    );
-                    
-                    // Execute the query
-                    Collection<Person> results = personMap.values(complexPredicate);
-                    System.out.println("Predicate query completed successfully with " + results.size() + " results");
-
-                    if (results.size() == 1 && results.iterator().next().getName().equals("Bob")) {
-                        querySucceeded.set(true);
-                        System.out.println("Expected result found in query output");
-                    } else {
-                        querySucceeded.set(false);
-                        System.out.println("Expected result not found in query output");
+            System.out.println("Starting " + queryName + " loop...");
+            boolean lastFailed = false;
+            do {
+                long start = System.nanoTime();
+                boolean available;
+                boolean correct = false;
+                try {
+                    correct = query.getAsBoolean();
+                    available = true;
+                } catch (Exception e) {
+                    available = false;
+                    if (!lastFailed) {
+                        System.out.println("Query failed, retrying: " + e.getMessage());
                     }
-                    
-                    queryRunOnce.countDown();
-                } while (runThread.get());
-            } catch (Exception e) {
-                System.out.println("Query failed: " + e.getMessage());
-            }
+                }
+                // The timeline tracks availability, runs that answered with the wrong rows are counted apart
+                timeline.recordSince(start, available);
+                if (available && !correct) {
+                    wrongResults.incrementAndGet();
+                }
+                querySucceeded.set(available && correct);
+                lastFailed = !available;
+                queryRunOnce.countDown();
+            } while (runThread.get());
         });
-        
-        // Wait for query to start
+
         try {
             queryThread.start();
-            boolean started = queryStarted.await(10, TimeUnit.SECONDS);
-            if (!started) {
-                System.out.println("⚠ Query did not start within timeout");
-                recordTestResult("Failover-PredicateQueryShutdown", false, "Query did not start within timeout");
+            if (!queryRunOnce.await(10, TimeUnit.SECONDS)) {
+                runThread.set(false);
+                System.out.println("⚠ Query did not complete within timeout");
+                recordTestResult(testName, false, "Query did not complete within timeout");
                 return;
             }
 
-            queryRunOnce.await(10, TimeUnit.SECONDS); // Ensure query runs at least once
-        
-            nodeToShutdown.shutdown();
+            Thread.sleep(BASELINE_MILLIS); // Latency before the event, used as reference
+
+            String event = terminate ? "terminate" : "shutdown";
+            long eventNanos = timeline.mark(event);
+            if (terminate) {
+                node.getLifecycleService().terminate();
+            } else {
+                node.shutdown();
+            }
 
-            runThread.set(false); // Stop the query thread after shutdown
+            Thread.sleep(OBSERVATION_MILLIS); // Keep querying to observe the recovery
 
-            Thread.sleep(2000); // Allow some time for the node to shutdown
+            runThread.set(false);
+            queryThread.join(4000);
 
-            queryThread.join(4000); // Wait for the query thread to finish
-            
             boolean testResult = querySucceeded.get();
+            String recovery = describeRecovery(timeline.getSamples(), eventNanos)
+                    + String.format(", %d runs returned wrong results", wrongResults.get());
             if (testResult) {
-                System.out.println("✓ Predicate query completed successfully despite node shutdown");
+                System.out.println("✓ " + queryName + " completed successfully despite node " + event + ": " + recovery);
             } else {
-                System.out.println("✗ Predicate query failed during node shutdown");
+                System.out.println("✗ " + queryName + " failed after node " + event + ": " + recovery);
             }
-            
-            recordTestResult("Failover-PredicateQueryShutdown", testResult, 
-                    testResult ? "Predicate query was resilient to node shutdown" : 
-                                "Predicate query failed during node shutdown");
-            
+
+            recordTestResult(testName, testResult,
+                    (testResult ? queryName + " was resilient to node " + event : queryName + " failed after node " + event)
+                    + ". " + recovery);
+
         } catch (Exception e) {
+            runThread.set(false);
             System.out.println("✗ Test failed with exception: " + e.getMessage());
-            recordTestResult("Failover-PredicateQueryShutdown", false, "Test failed with exception: " + e.getMessage());
+            recordTestResult(testName, false, "Test failed with exception: " + e.getMessage());
         }
     }
-    
-    /**
-        * Tests Predicate API query resilience when a node is terminated during query execution
-     * @throws InterruptedException 
-        */
-    public void testPredicateQueryDuringNodeTermination() throws InterruptedException {
-        System.out.println("\n=== Testing Predicate API Query During Node Termination ===");
-
-        HazelcastInstance nodeToTerminate = createNewHazelcastInstance();
 
-        Thread.sleep(5000); // Wait for the new node to join the cluster
-        
-        final AtomicBoolean runThread = new AtomicBoolean(true);
-        final CountDownLatch queryStarted = new CountDownLatch(1);
-        final CountDownLatch queryRunOnce = new CountDownLatch(1);
-        final AtomicBoolean querySucceeded = new AtomicBoolean(false);
-        
-        // Start long-running query in a separate thread
-        Thread queryThread = new Thread(() -> {
-            try {
-                System.out.println("Starting complex Predicate query...");
-                queryStarted.countDown();
-                
-                do {
-                    // Create a complex predicate to ensure the query takes some time
-                    Predicate<String, Person> complexPredicate = Predicates.or(
-                        Predicates.and(
-                            Predicates.equal("age", 25),
-                            Predicates.equal("active", true)
-                        ),
-                        Predicates.and(
-                            Predicates.lessThan("age", 20),
-                            Predicates.equal("departmentId", "D3")
-                        )
-                    );
-                    
-                    // Execute the query
-                    Collection<Person> results = personMap.values(complexPredicate);
-                    System.out.println("Predicate query completed successfully with " + results.size() + " results");
-
-                    if (results.size() == 1 && results.iterator().next().getName().equals("Bob")) {
-                        querySucceeded.set(true);
-                        System.out.println("Expected result found in query output");
-                    } else {
-                        querySucceeded.set(false);
-                        System.out.println("Expected result not found in query output");
-                    }
-                    
-                    queryRunOnce.countDown();
-                } while (runThread.get());
-            } catch (Exception e) {
-                System.out.println("Query failed: " + e.getMessage());
+    /**
+     * Summarises the runs around the event: the baseline is made of the successful runs that ended before it,
+     * the unavailability window spans from the last success before the first failure to the next success,
+     * and steady state is reached after the last run that failed or took more than twice the baseline p99
+     */
+    private static String describeRecovery(List<TimeSeries.Sample> samples, long eventNanos) {
+        List<Long> baseline = new ArrayList<>();
+        List<TimeSeries.Sample> after = new ArrayList<>();
+        for (TimeSeries.Sample sample : samples) {
+            if (sample.isEvent()) {
+                continue;
             }
-        });
-        
-        // Wait for query to start
-        try {
-            queryThread.start();
-            boolean started = queryStarted.await(10, TimeUnit.SECONDS);
-            if (!started) {
-                System.out.println("⚠ Query did not start within timeout");
-                recordTestResult("Failover-PredicateQueryTermination", false, "Query did not start within timeout");
-                return;
+            if (sample.getEndNanos() < eventNanos) {
+                if (sample.isSuccess()) {
+                    baseline.add(sample.getLatencyNanos());
+                }
+            } else {
+                after.add(sample);
             }
+        }
+        if (baseline.isEmpty() || after.isEmpty()) {
+            return "Not enough runs around the event to measure recovery";
+        }
 
-            queryRunOnce.await(10, TimeUnit.SECONDS); // Ensure query runs at least once
-        
-            nodeToTerminate.getLifecycleService().terminate();
-
-            runThread.set(false); // Stop the query thread after termination
-
-            Thread.sleep(2000); // Allow some time for the node to terminate
-
-            queryThread.join(4000); // Wait for the query thread to finish
-            
-            boolean testResult = querySucceeded.get();
-            if (testResult) {
-                System.out.println("✓ Predicate query completed successfully despite node termination");
-            } else {
-                System.out.println("✗ Predicate query failed during node termination");
+        Collections.sort(baseline);
+        long baselineP50 = baseline.get(baseline.size() / 2);
+        long baselineP99 = baseline.get(Math.min(baseline.size() - 1, (int) (baseline.size() * 0.99)));
+        long steadyThreshold = 2 * baselineP99;
+
+        int retries = 0;
+        long maxLatency = 0;
+        long outageStart = eventNanos;
+        long outageEnd = -1;
+        boolean failureSeen = false;
+        long lastUnsteadyEnd = eventNanos;
+        for (TimeSeries.Sample sample : after) {
+            maxLatency = Math.max(maxLatency, sample.getLatencyNanos());
+            if (!sample.isSuccess()) {
+                retries++;
+                failureSeen = true;
+                outageEnd = -1;
+            } else if (!failureSeen) {
+                outageStart = Math.max(outageStart, sample.getEndNanos());
+            } else if (outageEnd < 0) {
+                outageEnd = sample.getEndNanos();
+            }
+            if (!sample.isSuccess() || sample.getLatencyNanos() > steadyThreshold) {
+                lastUnsteadyEnd = sample.getEndNanos();
             }
-            
-            recordTestResult("Failover-PredicateQueryTermination", testResult, 
-                    testResult ? "Predicate query was resilient to node termination" : 
-                                "Predicate query failed during node termination");
-            
-        } catch (Exception e) {
-            System.out.println("✗ Test failed with exception: " + e.getMessage());
-            recordTestResult("Failover-PredicateQueryTermination", false, "Test failed with exception: " + e.getMessage());
         }
+
+        String unavailability = !failureSeen ? "0ms"
+                : outageEnd < 0 ? "not recovered"
+                : String.format("%.1fms", (outageEnd - outageStart) / 1_000_000.0);
+        boolean steady = lastUnsteadyEnd < after.get(after.size() - 1).getEndNanos();
+        return String.format(
+                "Baseline p50=%.2fms, p99=%.2fms, unavailability window %s, %d failed runs retried, latency spike %.2fms (%.1fx p50), %s",
+                baselineP50 / 1_000_000.0, baselineP99 / 1_000_000.0,
+                unavailability, retries,
+                maxLatency / 1_000_000.0, (double) maxLatency / baselineP50,
+                steady ? String.format("steady state after %.1fms", (lastUnsteadyEnd - eventNanos) / 1_000_000.0)
+                       : "no steady state within the observation window");
     }
 }
 
@@ -7,10 +7,14 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.partition.Partition;
 import com.hazelcast.partition.PartitionService;
+import com.sanvito_damiano.hazelcast.BulkLoader;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
+import com.sanvito_damiano.hazelcast.MigrationTracker;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Test program for Hazelcast Data Partitioning, Failover and Custom Partitioning
@@ -28,6 +32,7 @@ public class PartitionTest extends AbstractTest {
     }
 
     private static int[] partitionCounts = {100, 500, 1000, 5000, 10000};
+    private static final int MIGRATION_TIMEOUT_SECONDS = 60;
 
     private IMap<String, String> distributedMap;
     
@@ -52,8 +57,10 @@ public class PartitionTest extends AbstractTest {
     }
 
     private void addData(int count) {
-        for (int i = 0; i < count; i++) {
-            distributedMap.put("key-" + i, "value-" + i);
+        try (BulkLoader<String, String> loader = new BulkLoader<>(hazelcastInstance, distributedMap)) {
+            for (int i = 0; i < count; i++) {
+                loader.add("key-" + i, "value-" + i);
+            }
         }
     }
 
@@ -113,16 +120,18 @@ public class PartitionTest extends AbstractTest {
 
         // Add a new node to the cluster
         System.out.println("\nAdding new node to cluster...");
-        Config config = new Config();
-        config.getJetConfig().setEnabled(true);
-        config.setInstanceName("member3");
-        config.setProperty("hazelcast.logging.type", "log4j2");
+        Config config = createMemberConfig("member3");
         
+        MigrationTracker tracker = MigrationTracker.attachToMaster(hazelcastInstance);
         HazelcastInstance newNode = Hazelcast.newHazelcastInstance(config);
         
         // Wait for cluster to stabilize
         System.out.println("Waiting for cluster to stabilize after adding new node...");
-        Thread.sleep(10000);
+        UUID newNodeId = newNode.getCluster().getLocalMember().getUuid();
+        ClusterAwaiter.awaitMember(hazelcastInstance, newNodeId, true);
+        ClusterAwaiter.awaitClusterSafe(hazelcastInstance);
+
+        reportMigration("AddingNode", dataSize, tracker);
         
         // Analyze partition distribution after adding node
         System.out.println("Partition distribution after adding node:");
@@ -143,7 +152,9 @@ public class PartitionTest extends AbstractTest {
 
         newNode.shutdown();
         
-        Thread.sleep(5000); // Allow time for node shutdown
+        // Wait until the client no longer sees the node and its partitions are back on the remaining members
+        ClusterAwaiter.awaitMember(hazelcastInstance, newNodeId, false);
+        ClusterAwaiter.awaitClusterSafe(hazelcastInstance);
     }
 
     public void testNodeShutdown() throws Exception {
@@ -171,24 +182,24 @@ public class PartitionTest extends AbstractTest {
         
         // Add a new node to the cluster
         System.out.println("Adding new node to cluster...");
-        Config config = new Config();
-        config.getJetConfig().setEnabled(true);
-        config.setInstanceName("member3");
-        config.setProperty("hazelcast.logging.type", "log4j2");
+        Config config = createMemberConfig("member3");
         
         HazelcastInstance nodeToShutdown = Hazelcast.newHazelcastInstance(config);
         
         // Wait for cluster to stabilize
         System.out.println("Waiting for cluster to stabilize before node shutdown...");
-        Thread.sleep(10000);
+        UUID nodeId = nodeToShutdown.getCluster().getLocalMember().getUuid();
+        ClusterAwaiter.awaitMember(hazelcastInstance, nodeId, true);
+        ClusterAwaiter.awaitClusterSafe(hazelcastInstance);
 
         // Record the node ID to be shutdown
-        UUID nodeId = nodeToShutdown.getCluster().getLocalMember().getUuid();
         System.out.println("Node to shutdown: " + nodeId);
 
         // Shutdown the node gracefully
         System.out.println("Shutting down node gracefully...");
+        MigrationTracker tracker = MigrationTracker.attachToMaster(hazelcastInstance);
         nodeToShutdown.shutdown();
+        reportMigration("NodeShutdown", dataSize, tracker);
         
         // Analyze partition distribution after shutdown
         System.out.println("Partition distribution after node shutdown:");
@@ -230,24 +241,24 @@ public class PartitionTest extends AbstractTest {
         
         // Add a new node to the cluster
         System.out.println("Adding new node to cluster...");
-        Config config = new Config();
-        config.getJetConfig().setEnabled(true);
-        config.setInstanceName("member3");
-        config.setProperty("hazelcast.logging.type", "log4j2");
+        Config config = createMemberConfig("member3");
         
         HazelcastInstance nodeToTerminate = Hazelcast.newHazelcastInstance(config);
         
         // Wait for cluster to stabilize
         System.out.println("Waiting for cluster to stabilize before node termination...");
-        Thread.sleep(10000);
+        UUID nodeId = nodeToTerminate.getCluster().getLocalMember().getUuid();
+        ClusterAwaiter.awaitMember(hazelcastInstance, nodeId, true);
+        ClusterAwaiter.awaitClusterSafe(hazelcastInstance);
 
         // Record the node ID to be terminated
-        UUID nodeId = nodeToTerminate.getCluster().getLocalMember().getUuid();
         System.out.println("Node to terminate: " + nodeId);
 
         // Termination the node gracefully
-        System.out.println("Shutting down node gracefully...");
+        System.out.println("Terminating node...");
+        MigrationTracker tracker = MigrationTracker.attachToMaster(hazelcastInstance);
         nodeToTerminate.getLifecycleService().terminate();
+        reportMigration("NodeTermination", dataSize, tracker);
         
         // Analyze partition distribution after Termination
         System.out.println("Partition distribution after node termination:");
@@ -264,6 +275,20 @@ public class PartitionTest extends AbstractTest {
                 "Data accessibility after node termination: " + (dataAccessible ? "Maintained" : "Compromised"));
     }
     
+    /**
+     * Waits for the migrations caused by a topology change and records how long they took and what moved
+     */
+    private void reportMigration(String scenario, int dataSize, MigrationTracker tracker) throws InterruptedException {
+        boolean completed = tracker.awaitCompletion(MIGRATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        tracker.detach();
+
+        String message = scenario + " migration with " + dataSize + " data items: " + tracker
+                + (completed ? "" : " (not completed within " + MIGRATION_TIMEOUT_SECONDS + "s)");
+        System.out.println((completed ? "✓ " : "✗ ") + message);
+        recordTestResult(scenario + "-Migration-with-" + dataSize + "-Data-Items",
+                completed && tracker.getFailedReplicas() == 0, message);
+    }
+
     /**
      * Analyze and return the partition distribution among nodes
      */
@@ -9,9 +9,14 @@ import com.hazelcast.jet.pipeline.Sinks;
 import com.hazelcast.jet.pipeline.Sources;
 import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.Job;
+import com.hazelcast.jet.Util;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.aggregate.AggregateOperations;
+import com.hazelcast.jet.core.JobStatus;
+import com.hazelcast.jet.pipeline.JournalInitialPosition;
+import com.sanvito_damiano.hazelcast.ClusterProfile;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -24,6 +29,8 @@ public class PipelineTest extends AbstractTest {
     private IMap<Integer, String> resultMap;
     private IMap<Integer, String> users;
     private IMap<Integer, Tuple2<Integer, Double>> orders;
+    private IMap<Integer, String> journalSourceMap;
+    private IMap<Integer, String> incrementalResultMap;
 
     public PipelineTest(HazelcastInstance hazelcastInstance, String testCategory) {
         super(hazelcastInstance, testCategory);
@@ -35,6 +42,8 @@ public class PipelineTest extends AbstractTest {
         resultMap = hazelcastInstance.getMap("result-map");
         users = hazelcastInstance.getMap("users");
         orders = hazelcastInstance.getMap("orders");
+        journalSourceMap = hazelcastInstance.getMap(ClusterProfile.JOURNAL_MAP_PREFIX + "source-map");
+        incrementalResultMap = hazelcastInstance.getMap("incremental-result-map");
     }
 
     @Override
@@ -43,6 +52,8 @@ public class PipelineTest extends AbstractTest {
         resultMap.clear();
         users.clear();
         orders.clear();
+        journalSourceMap.clear();
+        incrementalResultMap.clear();
 
         // Populate source map with test data
         IMap<Integer, String> sourceMap = hazelcastInstance.getMap("source-map");
@@ -72,11 +83,15 @@ public class PipelineTest extends AbstractTest {
         resultMap.destroy();
         users.destroy();
         orders.destroy();
+        journalSourceMap.destroy();
+        incrementalResultMap.destroy();
 
         sourceMap = null;
         resultMap = null;
         users = null;
         orders = null;
+        journalSourceMap = null;
+        incrementalResultMap = null;
     }
 
     public void testSimplePipeline() {
@@ -197,10 +212,7 @@ public class PipelineTest extends AbstractTest {
     public void testFaultTolerantPipeline() throws InterruptedException {
         System.out.println("\n=== Test: Fault Tolerant Pipeline ===");
 
-        Config config = new Config();
-        config.getJetConfig().setEnabled(true);
-        config.setInstanceName("member3");
-        config.setProperty("hazelcast.logging.type", "log4j2");
+        Config config = createMemberConfig("member3");
         HazelcastInstance nodeToShutdown = Hazelcast.newHazelcastInstance(config);
         
         // Create a job config with snapshot capabilities
@@ -275,4 +287,81 @@ public class PipelineTest extends AbstractTest {
                          ", Result count: " + resultMap.size() + 
                          ", Transformation correct: " + correctTransformation);
     }
+
+    public void testIncrementalReplicationPipeline() throws InterruptedException {
+        System.out.println("\n=== Test: Incremental Replication Pipeline ===");
+
+        for (int i = 0; i < 100; i++) {
+            journalSourceMap.put(i, "Item-" + i);
+        }
+
+        // The journal still holds the initial puts, so the job replays them before following the changes
+        Job job = hazelcastInstance.getJet().newJob(
+                incrementalReplicationPipeline(journalSourceMap.getName(), incrementalResultMap.getName()));
+        boolean initialCopy = awaitSameContent(journalSourceMap, incrementalResultMap, 30_000);
+
+        // Only these changes travel through the job: updates, removals and new entries
+        for (int i = 0; i < 10; i++) {
+            journalSourceMap.put(i, "Updated-Item-" + i);
+        }
+        for (int i = 10; i < 15; i++) {
+            journalSourceMap.remove(i);
+        }
+        for (int i = 100; i < 105; i++) {
+            journalSourceMap.put(i, "Item-" + i);
+        }
+        boolean deltasApplied = awaitSameContent(journalSourceMap, incrementalResultMap, 30_000);
+        boolean stillRunning = job.getStatus() == JobStatus.RUNNING;
+        job.cancel();
+
+        System.out.println("Result map contains " + incrementalResultMap.size() + " entries, source map " + journalSourceMap.size());
+
+        boolean replicationWorked = initialCopy && deltasApplied && stillRunning;
+        if (replicationWorked) {
+            System.out.println("✓ Incremental replication pipeline applied the changes of the source map");
+        } else {
+            System.out.println("✗ Incremental replication pipeline failed. Initial copy: " + initialCopy +
+                              ", Deltas applied: " + deltasApplied + ", Job running: " + stillRunning);
+        }
+
+        recordTestResult("IncrementalReplicationPipeline-Execution", replicationWorked,
+                         "Incremental replication pipeline test. Initial copy: " + initialCopy +
+                         ", Deltas applied: " + deltasApplied +
+                         ", Job running: " + stillRunning +
+                         ", Result entries: " + incrementalResultMap.size());
+    }
+
+    /**
+     * Streaming job that applies every change of the source map, which must have its event journal
+     * enabled, to the target map. Removals are applied as well, since a null value removes the entry
+     */
+    public static Pipeline incrementalReplicationPipeline(String sourceMapName, String targetMapName) {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(Sources.<Entry<Integer, String>, Integer, String>mapJournal(
+                        sourceMapName,
+                        JournalInitialPosition.START_FROM_OLDEST,
+                        event -> Util.entry(event.getKey(), event.getNewValue()),
+                        event -> true))
+                .withoutTimestamps()
+                .writeTo(Sinks.<Entry<Integer, String>, Integer, String>mapWithUpdating(
+                        targetMapName,
+                        Entry::getKey,
+                        (oldValue, entry) -> entry.getValue()));
+        return pipeline;
+    }
+
+    /**
+     * Polls until both maps hold the same entries, returns false on timeout
+     */
+    private static boolean awaitSameContent(IMap<Integer, String> expected, IMap<Integer, String> actual, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (expected.size() == actual.size() && new HashMap<>(expected).equals(new HashMap<>(actual))) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
 }
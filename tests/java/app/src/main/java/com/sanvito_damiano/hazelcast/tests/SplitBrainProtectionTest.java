@@ -9,10 +9,10 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import com.hazelcast.splitbrainprotection.SplitBrainProtectionException;
 import com.hazelcast.splitbrainprotection.SplitBrainProtectionOn;
+import com.sanvito_damiano.hazelcast.ClusterAwaiter;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 public class SplitBrainProtectionTest extends AbstractTest {
 
@@ -30,12 +30,6 @@ public class SplitBrainProtectionTest extends AbstractTest {
     public void reset() {
         HazelcastClient.shutdownAll();
         Hazelcast.shutdownAll();
-
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
     }
 
     @Override
@@ -113,8 +107,9 @@ public class SplitBrainProtectionTest extends AbstractTest {
             instances.get(2).shutdown();
             instances.remove(2);
             
-            // Give some time for cluster to detect member departure
-            TimeUnit.SECONDS.sleep(10);
+            // Wait for the remaining members to detect the member departure
+            ClusterAwaiter.awaitClusterSize(instances.get(0), instances.size());
+            ClusterAwaiter.awaitSplitBrainProtection(instances.get(0), "minimum-three-members", false);
             
             try {
                 // This should fail with SplitBrainProtectionException
@@ -207,8 +202,9 @@ public class SplitBrainProtectionTest extends AbstractTest {
             instances.get(2).shutdown();
             instances.remove(2);
             
-            // Give some time for cluster to detect member departure
-            TimeUnit.SECONDS.sleep(10);
+            // Wait for the remaining members to detect the member departure
+            ClusterAwaiter.awaitClusterSize(instances.get(0), instances.size());
+            ClusterAwaiter.awaitSplitBrainProtection(instances.get(0), "write-quorum", false);
             
             try {
                 // Read should work (quorum 2)
@@ -268,8 +264,9 @@ public class SplitBrainProtectionTest extends AbstractTest {
             removedInstance.shutdown();
             instances.remove(2);
             
-            // Give some time for cluster to detect member departure
-            TimeUnit.SECONDS.sleep(10);
+            // Wait for the remaining members to detect the member departure
+            ClusterAwaiter.awaitClusterSize(instances.get(0), instances.size());
+            ClusterAwaiter.awaitSplitBrainProtection(instances.get(0), "recovery-quorum", true);
             
             // Operations should still work with 2 nodes
             protectedMap.put("key2", "value2");
@@ -278,8 +275,9 @@ public class SplitBrainProtectionTest extends AbstractTest {
             // Start the instance again to heal the cluster
             instances.add(Hazelcast.newHazelcastInstance(config));
             
-            // Give some time for cluster to detect new member
-            TimeUnit.SECONDS.sleep(10);
+            // Wait for the cluster to detect the new member
+            ClusterAwaiter.awaitClusterSize(instances.get(0), instances.size());
+            ClusterAwaiter.awaitSplitBrainProtection(instances.get(0), "recovery-quorum", true);
             
             // Operations should work after healing
             protectedMap.put("key3", "value3");
@@ -355,8 +353,9 @@ public class SplitBrainProtectionTest extends AbstractTest {
             instances.remove(2);
             instances.remove(1);
             
-            // Give some time for cluster to detect member departures
-            TimeUnit.SECONDS.sleep(10);
+            // Wait for the remaining members to detect the member departures
+            ClusterAwaiter.awaitClusterSize(instances.get(0), instances.size());
+            ClusterAwaiter.awaitSplitBrainProtection(instances.get(0), "custom-quorum", true);
             
             try {
                 // This should still work as our custom function only requires the master
@@ -0,0 +1,39 @@
+package com.sanvito_damiano.hazelcast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeySkewTest {
+
+    @Test
+    public void testEvenDistribution() {
+        long[] values = {10, 10, 10, 10};
+
+        assertEquals(1.0, KeySkew.maxMeanRatio(values), 1e-9);
+        assertEquals(0.0, KeySkew.gini(values), 1e-9);
+    }
+
+    @Test
+    public void testSingleHotSpot() {
+        long[] values = {0, 0, 0, 40};
+
+        assertEquals(4.0, KeySkew.maxMeanRatio(values), 1e-9);
+        assertEquals(0.75, KeySkew.gini(values), 1e-9);
+    }
+
+    @Test
+    public void testPartialSkew() {
+        // Sorted 1, 2, 3, 4: 2 * (1 + 4 + 9 + 16) / (4 * 10) - 5 / 4
+        long[] values = {4, 1, 3, 2};
+
+        assertEquals(1.6, KeySkew.maxMeanRatio(values), 1e-9);
+        assertEquals(0.25, KeySkew.gini(values), 1e-9);
+    }
+
+    @Test
+    public void testEmptyValues() {
+        assertEquals(0.0, KeySkew.maxMeanRatio(new long[0]));
+        assertEquals(0.0, KeySkew.gini(new long[] {0, 0}));
+    }
+}
@@ -0,0 +1,56 @@
+package com.sanvito_damiano.hazelcast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    public void testEmptyRecorder() {
+        LatencyRecorder recorder = new LatencyRecorder("empty");
+
+        assertEquals(0, recorder.getCount());
+        assertEquals(0, recorder.getMin());
+        assertEquals(0, recorder.getMax());
+        assertEquals(0, recorder.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder("uniform");
+        for (long i = 1; i <= 10_000; i++) {
+            recorder.record(i * 1000);
+        }
+
+        assertEquals(10_000, recorder.getCount());
+        assertEquals(1000, recorder.getMin());
+        assertEquals(10_000_000, recorder.getMax());
+        assertEquals(5_000_000, recorder.getValueAtPercentile(50), 5_000_000 * 0.01);
+        assertEquals(9_900_000, recorder.getValueAtPercentile(99), 9_900_000 * 0.01);
+        assertEquals(10_000_000, recorder.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        long previousHighest = -1;
+        for (long value = 0; value < 1_000_000; value++) {
+            int index = LatencyRecorder.bucketIndex(value);
+            long highest = LatencyRecorder.highestValueInBucket(index);
+            assertTrue(highest >= value, "bucket upper bound below value " + value);
+            assertTrue(highest >= previousHighest, "bucket bounds not monotonic at " + value);
+            previousHighest = highest;
+        }
+        assertTrue(LatencyRecorder.bucketIndex(Long.MAX_VALUE) >= 0);
+    }
+
+    @Test
+    public void testReset() {
+        LatencyRecorder recorder = new LatencyRecorder("reset");
+        recorder.record(42);
+        recorder.reset();
+
+        assertEquals(0, recorder.getCount());
+        assertEquals(0, recorder.getMax());
+    }
+}
@@ -1,5 +1,6 @@
 import logging
 import random
+import re
 import threading
 import time
 import docker
@@ -12,22 +13,33 @@ logger.setLevel(logging.DEBUG)
 
 class RamCPUUsageTest(Test):
     """Test class for verifying failover capabilities in Hazelcast cluster"""
-    
+
+    # Unified JVM logging line of a GC pause, e.g. "GC(3) Pause Young (Normal) (G1 Evacuation Pause) 24M->3M(256M) 2.345ms"
+    GC_PAUSE_PATTERN = re.compile(r"Pause.*?(\d+)([KMG])->(\d+)([KMG])\((\d+)([KMG])\)\s+([\d.]+)ms")
+    GC_UNITS = {"K": 1024, "M": 1024 ** 2, "G": 1024 ** 3}
+
     def __init__(self, test_info: str):
         super().__init__("ram_cpu_test", test_info)
 
     def run_test(self) -> bool:
         """Test hazelcast usage operations"""
+        phase = "usage_tracking"
         try:
             logger.info("Starting usage test...")
             self.track_idle_usage()
             logger.info("Usage test passed successfully.")
             self.report.add_result("usage_tracking", "PASS", "Usage test passed successfully")
 
+            phase = "memory_footprint"
+            logger.info("Starting memory footprint test...")
+            self.track_memory_footprint()
+            logger.info("Memory footprint test passed successfully.")
+            self.report.add_result("memory_footprint", "PASS", "Memory footprint test passed successfully")
+
             return True
         except Exception as e:
-            logger.error(f"Map test failed: {e}")
-            self.report.add_result("usage_tracking", "FAIL", str(e))
+            logger.error(f"Usage test failed during {phase}: {e}")
+            self.report.add_result(phase, "FAIL", str(e))
         return False
 
     def custom_teardown(self):
@@ -285,3 +297,148 @@ class RamCPUUsageTest(Test):
                         f"idle_container_{container_id[:12]}_avg_network_tx_{size}_{duration}s",
                         averages['avg_network_tx']
                     )
+
+    def track_memory_footprint(self, data_sizes=[100000, 1000000], formats=["BINARY", "OBJECT", "NATIVE"],
+                               backup_counts=[0, 1, 2], batch_size=10000, stabilization=15):
+        """
+        Load the same dataset used by track_idle_usage into maps with different in-memory formats
+        and backup counts (configured in config/default.yaml as footprint-<format>-b<backups>) and
+        report container memory per entry, heap after GC per entry and GC pauses on the members.
+        GC data is read from the -Xlog:gc file enabled in docker-compose.yml, a full GC is forced with
+        jcmd before each sample and the heap is reported as n/a when that GC could not run.
+
+        Args:
+            data_sizes: List of data sizes (number of entries) to load
+            formats: In-memory formats to compare, NATIVE is skipped when the cluster does not support it
+            backup_counts: Backup counts to compare
+            batch_size: Number of entries sent with each put_all
+            stabilization: Seconds to wait after loading before sampling
+        """
+        logger.info("Testing memory footprint per in-memory format and backup count...")
+
+        docker_client = docker.from_env()
+        containers = [container for container in docker_client.containers.list()
+                      if container.name.startswith("hazelcast-node")]
+        if not containers:
+            logger.warning("No Hazelcast member containers found")
+            return
+
+        for size in data_sizes:
+            for in_memory_format in formats:
+                for backups in backup_counts:
+                    map_name = f"footprint-{in_memory_format.lower()}-b{backups}"
+                    case_name = f"footprint_{in_memory_format.lower()}_b{backups}_{size}_entries"
+                    logger.info(f"Measuring {map_name} with {size} entries...")
+
+                    before = {container.id: self._sample_member(container, 0) for container in containers}
+
+                    try:
+                        distributed_map = self.client.get_map(map_name).blocking()
+                        start_time = time.time()
+                        for batch_start in range(0, size, batch_size):
+                            batch_end = min(batch_start + batch_size, size)
+                            distributed_map.put_all({f"key_{i}": "x" * 1023 + str(i) for i in range(batch_start, batch_end)})
+                        load_seconds = time.time() - start_time
+                    except Exception as e:
+                        logger.warning(f"Could not load {map_name}, skipping: {e}")
+                        self.report.add_result(case_name, "SKIPPED", f"{in_memory_format} with {backups} backups not available: {e}")
+                        self._destroy_quietly(map_name)
+                        continue
+
+                    time.sleep(stabilization)
+                    entries = distributed_map.size()
+                    after = {container.id: self._sample_member(container, len(before[container.id]['gc_events']))
+                             for container in containers}
+
+                    container_delta = sum(after[c]['memory'] - before[c]['memory'] for c in after)
+                    heap_deltas = [after[c]['heap_after_gc'] - before[c]['heap_after_gc'] for c in after
+                                   if after[c]['heap_after_gc'] is not None and before[c]['heap_after_gc'] is not None]
+                    heap_delta = sum(heap_deltas) if heap_deltas else None
+                    # Pauses caused by the load only, the GCs forced to sample the heap are left out
+                    gc_events = [event for c in after for event in after[c]['gc_events'][len(before[c]['gc_events']):]
+                                 if not event[3]]
+                    gc_pause_ms = sum(event[2] for event in gc_events)
+                    gc_max_pause_ms = max((event[2] for event in gc_events), default=0.0)
+                    copies = min(backups, len(containers) - 1) + 1
+
+                    container_per_entry = container_delta / entries if entries else 0
+                    heap_per_entry = heap_delta / entries if entries and heap_delta is not None else None
+                    heap_per_entry_text = f"{heap_per_entry:.1f}" if heap_per_entry is not None else "n/a"
+
+                    message = (f"{in_memory_format} with {backups} backups ({copies} copies on {len(containers)} members), "
+                               f"{entries} entries loaded in {load_seconds:.1f}s: "
+                               f"container memory {container_per_entry:.1f} bytes/entry, "
+                               f"heap after GC {heap_per_entry_text} bytes/entry, "
+                               f"GC pauses {len(gc_events)} totalling {gc_pause_ms:.1f}ms (max {gc_max_pause_ms:.1f}ms)")
+                    logger.info(message)
+                    self.report.add_result(case_name, "INFO", message)
+                    self.report.add_metric(f"{case_name}_container_bytes_per_entry", container_per_entry)
+                    if heap_per_entry is not None:
+                        self.report.add_metric(f"{case_name}_heap_bytes_per_entry", heap_per_entry)
+                    self.report.add_metric(f"{case_name}_gc_pause_count", len(gc_events))
+                    self.report.add_metric(f"{case_name}_gc_pause_total_ms", gc_pause_ms)
+                    self.report.add_metric(f"{case_name}_gc_pause_max_ms", gc_max_pause_ms)
+
+                    self._destroy_quietly(map_name)
+
+    def _sample_member(self, container, known_events):
+        """
+        Return the container memory usage, the heap left by a GC forced now and all GC pauses logged so far.
+        The heap is None when no GC was logged after the first known_events, e.g. because jcmd is missing
+        from the image, so that an older figure is never reported as the current one.
+        """
+        self._force_gc(container)
+        stats = container.stats(stream=False)
+        gc_events = self._read_gc_events(container)
+        return {
+            'memory': stats['memory_stats']['usage'],
+            'heap_after_gc': gc_events[-1][1] if len(gc_events) > known_events else None,
+            'gc_events': gc_events,
+        }
+
+    def _force_gc(self, container):
+        """Run a full GC on the member JVM, so that the heap after GC reflects the data loaded so far"""
+        pid = self._member_pid(container)
+        if pid is None:
+            logger.warning(f"Could not force a GC on {container.name}: no JVM found by jcmd")
+            return
+        exit_code, output = container.exec_run(["jcmd", pid, "GC.run"])
+        if exit_code != 0:
+            logger.warning(f"Could not force a GC on {container.name}: {output.decode(errors='ignore').strip()}")
+
+    def _member_pid(self, container):
+        """PID of the member JVM as listed by jcmd, whatever its main class, None when jcmd lists no other JVM"""
+        exit_code, output = container.exec_run(["jcmd", "-l"])
+        if exit_code != 0:
+            return None
+        for line in output.decode(errors="ignore").splitlines():
+            pid, _, main_class = line.strip().partition(" ")
+            if pid.isdigit() and "JCmd" not in main_class:
+                return pid
+        return None
+
+    def _read_gc_events(self, container):
+        """Parse the member GC log into (heap before, heap after, pause ms, forced by System.gc) tuples"""
+        exit_code, output = container.exec_run(["cat", "/tmp/gc.log"])
+        if exit_code != 0:
+            logger.warning(f"GC log not available on {container.name}")
+            return []
+
+        events = []
+        for line in output.decode(errors="ignore").splitlines():
+            match = self.GC_PAUSE_PATTERN.search(line)
+            if match:
+                before = int(match.group(1)) * self.GC_UNITS[match.group(2)]
+                after = int(match.group(3)) * self.GC_UNITS[match.group(4)]
+                events.append((before, after, float(match.group(7)), "System.gc()" in line))
+        return events
+
+    def _destroy_quietly(self, map_name):
+        try:
+            distributed_map = self.client.get_map(map_name).blocking()
+            distributed_map.clear()
+            distributed_map.destroy()
+        except Exception as e:
+            logger.warning(f"Error destroying map {map_name}: {e}")
+        # Let the members release the memory before the next measurement
+        time.sleep(10)